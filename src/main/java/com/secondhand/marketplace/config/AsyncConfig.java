@@ -0,0 +1,13 @@
+package com.secondhand.marketplace.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async}. Tasks run on Spring Boot's {@code applicationTaskExecutor}, which is a
+ * thread pool by default and switches to virtual threads under the {@code virtual-threads} profile.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,30 @@
+package com.secondhand.marketplace.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String GARMENT_DETAILS = "garmentDetails";
+    public static final String REGISTRATIONS = "registrations";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${marketplace.cache.users.spec:maximumSize=10000,expireAfterWrite=5m,recordStats}") String usersSpec,
+            @Value("${marketplace.cache.garment-details.spec:maximumSize=50000,expireAfterWrite=10m,recordStats}") String garmentDetailsSpec,
+            @Value("${marketplace.cache.registrations.spec:maximumSize=100000,expireAfterWrite=24h}") String registrationsSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USERS, Caffeine.from(usersSpec).build());
+        cacheManager.registerCustomCache(GARMENT_DETAILS, Caffeine.from(garmentDetailsSpec).build());
+        cacheManager.registerCustomCache(REGISTRATIONS, Caffeine.from(registrationsSpec).build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,22 @@
+package com.secondhand.marketplace.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Adds CBOR ({@code application/cbor}) as a negotiable format next to JSON. Clients that send
+ * {@code Accept: application/cbor} get the same documents, including the {@code @JsonView} projections,
+ * in a compact binary encoding.
+ */
+@Configuration
+public class WebConfig {
+
+    // Built from Spring Boot's builder so it shares the JSON mapper's settings (modules, view inclusion)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
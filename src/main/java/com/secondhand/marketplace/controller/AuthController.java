@@ -1,5 +1,6 @@
 package com.secondhand.marketplace.controller;
 
+import com.secondhand.marketplace.entity.User;
 import com.secondhand.marketplace.model.AuthRequest;
 import com.secondhand.marketplace.model.AuthResponse;
 import com.secondhand.marketplace.utils.JwtUtil;
@@ -46,7 +47,8 @@ public class AuthController {
 
             log.info("User {} authenticated successfully.", authRequest.getUsername());
 
-            String token = jwtUtil.generateToken(authRequest.getUsername());
+            User user = (User) authentication.getPrincipal();
+            String token = jwtUtil.generateToken(user.getId(), user.getUsername());
             long expirationTime = jwtUtil.getExpirationTime();
 
             AuthResponse authResponse = new AuthResponse(token, expirationTime);
@@ -1,25 +1,45 @@
 package com.secondhand.marketplace.controller;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.secondhand.marketplace.dto.BulkPublishResultDto;
+import com.secondhand.marketplace.dto.BulkUnpublishResultDto;
 import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.dto.GarmentFilterResultDto;
+import com.secondhand.marketplace.dto.GarmentPageDto;
 import com.secondhand.marketplace.dto.View;
 import com.secondhand.marketplace.entity.Garment;
-import com.secondhand.marketplace.entity.User;
 import com.secondhand.marketplace.exceptions.GarmentNotFoundException;
 import com.secondhand.marketplace.exceptions.UnauthorizedActionException;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import com.secondhand.marketplace.model.BulkUnpublishRequest;
+import com.secondhand.marketplace.model.GarmentFacets;
+import com.secondhand.marketplace.model.GarmentFilter;
+import com.secondhand.marketplace.model.GarmentPatch;
+import com.secondhand.marketplace.model.GarmentSort;
+import com.secondhand.marketplace.service.GarmentDetailCache;
+import com.secondhand.marketplace.service.GarmentDetailCache.CachedGarment;
 import com.secondhand.marketplace.service.GarmentService;
+import com.secondhand.marketplace.utils.PageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/clothes")
@@ -27,94 +47,306 @@ import java.util.stream.Collectors;
 public class GarmentController {
 
     private final GarmentService garmentService;
-    private final ModelMapper modelMapper;
+    private final GarmentMapper garmentMapper;
+    private final GarmentDetailCache garmentDetailCache;
+    // Tells this process's catalog versions apart from those of other instances and earlier runs
+    private final String catalogEpoch = Long.toString(System.currentTimeMillis(), 36);
 
-    public GarmentController(GarmentService garmentService, ModelMapper modelMapper) {
+    public GarmentController(GarmentService garmentService, GarmentMapper garmentMapper, GarmentDetailCache garmentDetailCache) {
         this.garmentService = garmentService;
-        this.modelMapper = modelMapper;
+        this.garmentMapper = garmentMapper;
+        this.garmentDetailCache = garmentDetailCache;
     }
-    @Operation(summary = "Get all clothes or filter by type")
+    @Operation(summary = "Get a page of clothes, optionally filtered by type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of clothes retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Catalog not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
     @GetMapping
     @JsonView(View.Detailed.class)
-    public ResponseEntity<List<GarmentDto>> getAllClothes(@RequestParam(required = false) String type) {
-        List<Garment> garments = (type != null) ? garmentService.getAllGarments(type) : garmentService.getAllGarments(null);
-        List<GarmentDto> garmentDtos = garments.stream()
-                .map(garment -> modelMapper.map(garment, GarmentDto.class))
-                .collect(Collectors.toList());
+    public ResponseEntity<GarmentPageDto> getAllClothes(@RequestParam(required = false) String type,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") int size,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = catalogEtag();
+        if (etagMatches(ifNoneMatch, etag)) {
+            return listingNotModified(etag);
+        }
+
+        Slice<GarmentDto> page = garmentService.getGarmentPage(type, PageCursor.decode(cursor), size);
+        List<GarmentDto> garmentDtos = page.getContent();
+
+        String nextCursor = page.hasNext()
+                ? PageCursor.encode(garmentDtos.get(garmentDtos.size() - 1).getId())
+                : null;
+
+        log.debug("Fetched {} garments", garmentDtos.size());
+        return listing(etag, new GarmentPageDto(garmentDtos, nextCursor));
+    }
+    @Operation(summary = "Filter clothes by type, size and price range, with counts per type and size")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Filtered clothes retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Catalog not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter")
+    })
+    @GetMapping("/filter")
+    @JsonView(View.Detailed.class)
+    public ResponseEntity<GarmentFilterResultDto> filterClothes(@RequestParam(name = "type", required = false) List<String> types,
+                                                                @RequestParam(name = "garmentSize", required = false) List<String> garmentSizes,
+                                                                @RequestParam(required = false) Double minPrice,
+                                                                @RequestParam(required = false) Double maxPrice,
+                                                                @RequestParam(defaultValue = "NEWEST") GarmentSort sort,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = catalogEtag();
+        if (etagMatches(ifNoneMatch, etag)) {
+            return listingNotModified(etag);
+        }
+
+        GarmentFilter filter = new GarmentFilter(types, garmentSizes, minPrice, maxPrice, sort);
+        Page<Garment> garments = garmentService.filterGarments(filter, page, size);
+        GarmentFacets facets = garmentService.countFacets(filter);
+
+        log.debug("Filter matched {} garments", garments.getTotalElements());
+        return listing(etag, new GarmentFilterResultDto(garmentMapper.toDtos(garments.getContent()),
+                garments.getNumber(), garments.getTotalElements(), facets.getTypes(), facets.getSizes()));
+    }
+    @Operation(summary = "Search clothes by keywords in their type and description, best match first")
+    @GetMapping("/search")
+    @JsonView(View.Detailed.class)
+    public ResponseEntity<List<GarmentDto>> searchClothes(@RequestParam("q") String query,
+                                                          @RequestParam(defaultValue = "20") int size,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = catalogEtag();
+        if (etagMatches(ifNoneMatch, etag)) {
+            return listingNotModified(etag);
+        }
+
+        List<GarmentDto> garmentDtos = garmentService.searchGarments(query, size);
+
+        log.debug("Search returned {} garments", garmentDtos.size());
+        return listing(etag, garmentDtos);
+    }
+    @Operation(summary = "Get the cheapest clothes of a type, optionally within a price range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Clothes retrieved successfully, cheapest first"),
+            @ApiResponse(responseCode = "304", description = "Catalog not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "minPrice is greater than maxPrice")
+    })
+    @GetMapping("/cheapest")
+    @JsonView(View.Detailed.class)
+    public ResponseEntity<List<GarmentDto>> getCheapestClothes(@RequestParam String type,
+                                                               @RequestParam(required = false) Double minPrice,
+                                                               @RequestParam(required = false) Double maxPrice,
+                                                               @RequestParam(defaultValue = "20") int size,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = catalogEtag();
+        if (etagMatches(ifNoneMatch, etag)) {
+            return listingNotModified(etag);
+        }
 
-        log.info("Fetched {} garments", garmentDtos.size());
-        return ResponseEntity.ok(garmentDtos);
+        List<GarmentDto> garmentDtos = garmentService.getCheapestGarments(type, minPrice, maxPrice, size);
+
+        log.debug("Price range query returned {} garments", garmentDtos.size());
+        return listing(etag, garmentDtos);
     }
     @Operation(summary = "Get a clothing item by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Clothing item retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Clothing item not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Clothing item not found")
     })
-    @GetMapping("/{id}")
-    public ResponseEntity<GarmentDto> getClothingItem(@PathVariable Long id) throws GarmentNotFoundException {
-        Garment garment = garmentService.getGarmentById(id);
-        GarmentDto garmentDto = modelMapper.map(garment, GarmentDto.class);
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getClothingItem(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws GarmentNotFoundException, JsonProcessingException {
+        CachedGarment cachedGarment = garmentDetailCache.get(id);
+
+        if (etagMatches(ifNoneMatch, cachedGarment.etag())) {
+            log.debug("Garment with id {} not modified", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(cachedGarment.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
 
-        log.info("Fetched garment with id {}: {}", id, garmentDto);
-        return ResponseEntity.ok(garmentDto);
+        log.debug("Fetched garment with id {}", id);
+        return ResponseEntity.ok()
+                .eTag(cachedGarment.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cachedGarment.json());
     }
     @Operation(summary = "Publish a new garment")
     @PostMapping("/add")
     @JsonView(View.Summary.class)
-    public ResponseEntity<GarmentDto> publishGarment(@RequestBody GarmentDto garmentDTO, @AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<GarmentDto> publishGarment(@RequestBody GarmentDto garmentDTO, @AuthenticationPrincipal AuthenticatedUser currentUser) {
         if (currentUser == null) {
             log.warn("Unauthorized access attempt to publish garment");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
 
-        Garment garment = modelMapper.map(garmentDTO, Garment.class);
-        garment.setPublisher(currentUser);
+        Garment garment = garmentMapper.toEntity(garmentDTO);
 
-        Garment savedGarment = garmentService.publishGarment(garment);
-        GarmentDto savedGarmentDto = modelMapper.map(savedGarment, GarmentDto.class);
+        Garment savedGarment = garmentService.publishGarment(garment, currentUser);
+        GarmentDto savedGarmentDto = garmentMapper.toDto(savedGarment);
 
-        log.info("Garment published successfully by user {}: {}", currentUser.getUsername(), savedGarmentDto);
+        log.info("Garment {} published successfully by user {}", savedGarmentDto.getId(), currentUser.username());
         return ResponseEntity.status(HttpStatus.CREATED).body(savedGarmentDto);
     }
+    @Operation(summary = "Publish many garments at once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One result per garment, in request order"),
+            @ApiResponse(responseCode = "400", description = "Too many garments in one request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkPublishResultDto>> bulkPublish(@RequestBody List<GarmentDto> garmentDtos, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            log.warn("Unauthorized access attempt to bulk publish garments");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+
+        List<Garment> garments = new ArrayList<>(garmentDtos.size());
+        for (GarmentDto garmentDto : garmentDtos) {
+            garments.add(garmentDto == null ? null : garmentMapper.toEntity(garmentDto));
+        }
+
+        List<BulkPublishResultDto> results = garmentService.bulkPublish(garments, currentUser);
+
+        log.info("Bulk publish of {} garments by user {} completed", results.size(), currentUser.username());
+        return ResponseEntity.ok(results);
+    }
     @Operation(summary = "Update a garment by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Garment updated successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized access"),
-            @ApiResponse(responseCode = "404", description = "Garment not found")
+            @ApiResponse(responseCode = "404", description = "Garment not found"),
+            @ApiResponse(responseCode = "409", description = "Garment was changed since the given version")
     })
     @PutMapping("/{id}")
     @JsonView(View.Summary.class)
-    public ResponseEntity<GarmentDto> updateGarment(@PathVariable Long id, @RequestBody GarmentDto garmentDTO, @AuthenticationPrincipal User currentUser) throws GarmentNotFoundException {
+    public ResponseEntity<GarmentDto> updateGarment(@PathVariable Long id, @RequestBody GarmentDto garmentDTO, @AuthenticationPrincipal AuthenticatedUser currentUser) throws GarmentNotFoundException {
         if (currentUser == null) {
             log.warn("Unauthorized access attempt to update garment with id {}", id);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
         }
 
-        Garment garment = modelMapper.map(garmentDTO, Garment.class);
-        garment.setPublisher(currentUser);
+        Garment garment = garmentMapper.toUpdateEntity(garmentDTO);
 
         Garment updatedGarment = garmentService.updateGarment(id, garment, currentUser);
-        GarmentDto updatedGarmentDto = modelMapper.map(updatedGarment, GarmentDto.class);
+        GarmentDto updatedGarmentDto = garmentMapper.toDto(updatedGarment);
 
-        log.info("Garment with id {} updated successfully by user {}", id, currentUser.getUsername());
+        log.info("Garment with id {} updated successfully by user {}", id, currentUser.username());
         return ResponseEntity.ok(updatedGarmentDto);
     }
+    @Operation(summary = "Partially update a garment by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Garment updated; its new version is the given version + 1"),
+            @ApiResponse(responseCode = "400", description = "Missing version or invalid field"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "Garment belongs to another user"),
+            @ApiResponse(responseCode = "404", description = "Garment not found"),
+            @ApiResponse(responseCode = "409", description = "Garment was changed since the given version")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchGarment(@PathVariable Long id, @RequestBody GarmentPatch patch, @AuthenticationPrincipal AuthenticatedUser currentUser) throws GarmentNotFoundException {
+        if (currentUser == null) {
+            log.warn("Unauthorized access attempt to patch garment with id {}", id);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        long version = garmentService.patchGarment(id, patch, currentUser);
+
+        log.info("Garment with id {} patched by user {} (version {})", id, currentUser.username(), version);
+        return ResponseEntity.noContent().build();
+    }
     @Operation(summary = "Unpublish (delete) a garment by ID")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Garment unpublished successfully"),
+            @ApiResponse(responseCode = "204", description = "Garment unpublished successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+            @ApiResponse(responseCode = "403", description = "Garment belongs to another user"),
             @ApiResponse(responseCode = "404", description = "Garment not found")
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> unpublishGarment(@PathVariable Long id, @AuthenticationPrincipal User currentUser) throws GarmentNotFoundException {
+    public ResponseEntity<Void> unpublishGarment(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser currentUser) throws GarmentNotFoundException {
         if (currentUser == null) {
             log.warn("Unauthorized access attempt to delete garment with id {}", id);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
         garmentService.unpublishGarment(id, currentUser);
-        log.info("Garment with id {} unpublished by user {}", id, currentUser.getUsername());
-        return ResponseEntity.ok(String.format("Garment with id %s was deleted", id));
+        log.info("Garment with id {} unpublished by user {}", id, currentUser.username());
+        return ResponseEntity.noContent().build();
+    }
+    @Operation(summary = "Unpublish many of your garments at once, by id or all of them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of garments removed; ids that are unknown or not yours are skipped"),
+            @ApiResponse(responseCode = "400", description = "Neither or both of ids and all given, or too many ids"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized access")
+    })
+    @PostMapping("/unpublish")
+    public ResponseEntity<BulkUnpublishResultDto> bulkUnpublish(@RequestBody BulkUnpublishRequest request, @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        if (currentUser == null) {
+            log.warn("Unauthorized access attempt to bulk unpublish garments");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (request.isAll() == hasIds) {
+            throw new IllegalArgumentException("Give either a list of ids or all=true");
+        }
+
+        long removed = request.isAll()
+                ? garmentService.unpublishAll(currentUser)
+                : garmentService.bulkUnpublish(request.getIds(), currentUser);
+
+        log.info("{} garments unpublished by user {}", removed, currentUser.username());
+        return ResponseEntity.ok(new BulkUnpublishResultDto(removed));
+    }
+
+    /**
+     * Listings change with every write, so one catalog-wide version tags all of them. The tag is weak:
+     * the same version is served as JSON or CBOR, compressed or not.
+     */
+    private String catalogEtag() {
+        return "\"" + catalogEpoch + "-" + garmentService.getCatalogVersion() + "\"";
+    }
+
+    // no-cache: clients may keep the listing but must revalidate it with If-None-Match on every use
+    private static <T> ResponseEntity<T> listing(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag("W/" + etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    private static <T> ResponseEntity<T> listingNotModified(String etag) {
+        log.debug("Listing not modified (catalog {})", etag);
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag("W/" + etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @ExceptionHandler(GarmentNotFoundException.class)
@@ -123,12 +355,33 @@ public class GarmentController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        log.warn("Bad request: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    // Query parameters that do not parse, e.g. ?sort=cheap or ?minPrice=x
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        String message = "Invalid value for " + ex.getName() + ": " + ex.getValue();
+        log.warn("Bad request: {}", message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(message);
+    }
+
     @ExceptionHandler(UnauthorizedActionException.class)
     public ResponseEntity<String> handleUnauthorizedActionException(UnauthorizedActionException ex) {
         log.error("Unauthorized action: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
     }
 
+    // Stale versions, and concurrent writers of the same row that lose the database race
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<String> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        log.warn("Conflicting garment update: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("The garment was changed by another request. Reload it and try again.");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception ex) {
         log.error("An unexpected error occurred: {}", ex.getMessage(), ex);
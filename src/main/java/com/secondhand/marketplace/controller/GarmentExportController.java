@@ -0,0 +1,87 @@
+package com.secondhand.marketplace.controller;
+
+import com.secondhand.marketplace.service.GarmentExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/clothes")
+@Slf4j
+public class GarmentExportController {
+
+    private final GarmentExportService garmentExportService;
+    private final TaskExecutor taskExecutor;
+    private final Duration exportTimeout;
+
+    public GarmentExportController(
+            GarmentExportService garmentExportService,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            @Value("${marketplace.export.timeout:30m}") Duration exportTimeout) {
+        this.garmentExportService = garmentExportService;
+        this.taskExecutor = taskExecutor;
+        this.exportTimeout = exportTimeout;
+    }
+
+    /**
+     * Streams the catalog through a {@link ResponseBodyEmitter}, which carries its own timeout, so only
+     * the export gets the long limit and other async requests keep the default.
+     */
+    @Operation(summary = "Export the whole garment catalog as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> exportClothes() {
+        log.info("Starting garment catalog export");
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(exportTimeout.toMillis());
+        taskExecutor.execute(() -> {
+            try {
+                garmentExportService.exportGarments(new EmitterOutputStream(emitter));
+                emitter.complete();
+            } catch (Exception e) {
+                log.warn("Garment catalog export aborted: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    /**
+     * Buffers what the export writes and sends it to the client as one chunk on every flush.
+     */
+    private static class EmitterOutputStream extends ByteArrayOutputStream {
+
+        private final ResponseBodyEmitter emitter;
+
+        EmitterOutputStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (size() > 0) {
+                emitter.send(toByteArray(), MediaType.APPLICATION_NDJSON);
+                reset();
+            }
+        }
+    }
+}
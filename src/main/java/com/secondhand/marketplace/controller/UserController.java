@@ -2,12 +2,15 @@ package com.secondhand.marketplace.controller;
 
 import com.secondhand.marketplace.dto.UserRegistrationDTO;
 import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.exceptions.UsernameAlreadyExistsException;
+import com.secondhand.marketplace.mapper.UserMapper;
+import com.secondhand.marketplace.service.RegistrationCache;
+import com.secondhand.marketplace.service.RegistrationCache.RegisteredUser;
 import com.secondhand.marketplace.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,30 +20,55 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class UserController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
 
     private final UserService userService;
 
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
 
-    public UserController(UserService userService, ModelMapper modelMapper) {
+    private final RegistrationCache registrationCache;
+
+    public UserController(UserService userService, UserMapper userMapper, RegistrationCache registrationCache) {
         this.userService = userService;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
+        this.registrationCache = registrationCache;
     }
 
     @Operation(summary = "Register a new user")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "User registered successfully"),
+            @ApiResponse(responseCode = "200", description = "User registered successfully, or a retry with the same Idempotency-Key"),
+            @ApiResponse(responseCode = "400", description = "Idempotency-Key too long"),
+            @ApiResponse(responseCode = "409", description = "Username already taken"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for another username"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
 
     @PostMapping("/register")
-    public ResponseEntity<String> registerUser(@RequestBody UserRegistrationDTO userDto) {
-        User user= modelMapper.map(userDto, User.class);
-        userService.registerUser(user);
-        log.info("User registered", userDto.getUsername());
+    public ResponseEntity<String> registerUser(@RequestBody UserRegistrationDTO userDto,
+                                               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        User user = userMapper.toEntity(userDto);
+        if (idempotencyKey == null) {
+            userService.registerUser(user);
+        } else {
+            if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                return ResponseEntity.badRequest().body(IDEMPOTENCY_KEY + " must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+            }
+            RegisteredUser registeredUser = registrationCache.register(idempotencyKey, user);
+            if (!registeredUser.username().equals(userDto.getUsername())) {
+                log.warn("Idempotency key reused for a different username");
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(IDEMPOTENCY_KEY + " was already used for another registration");
+            }
+        }
+        log.info("User {} registered", userDto.getUsername());
         return ResponseEntity.ok("User registered successfully");
     }
 
+    @ExceptionHandler(UsernameAlreadyExistsException.class)
+    public ResponseEntity<String> handleUsernameAlreadyExistsException(UsernameAlreadyExistsException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleUnauthorizedActionException(RuntimeException ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
@@ -0,0 +1,23 @@
+package com.secondhand.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPublishResultDto {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+
+    // Position of the garment in the request body
+    private int index;
+    private Long id;
+    private Status status;
+    private String error;
+}
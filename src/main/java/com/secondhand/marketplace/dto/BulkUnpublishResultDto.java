@@ -0,0 +1,12 @@
+package com.secondhand.marketplace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUnpublishResultDto {
+    private long removed;
+}
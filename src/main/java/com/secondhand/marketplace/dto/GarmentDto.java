@@ -21,5 +21,8 @@ public class GarmentDto {
     private double price;
     @JsonView(View.Detailed.class)
     private Long publisherId;
+    // Sent back on PUT/PATCH so concurrent edits are detected
+    @JsonView(View.Summary.class)
+    private Long version;
 }
 
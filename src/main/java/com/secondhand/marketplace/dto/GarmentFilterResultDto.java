@@ -0,0 +1,25 @@
+package com.secondhand.marketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GarmentFilterResultDto {
+    @JsonView(View.Summary.class)
+    private List<GarmentDto> items;
+    @JsonView(View.Summary.class)
+    private int page;
+    @JsonView(View.Summary.class)
+    private long totalElements;
+    @JsonView(View.Summary.class)
+    private Map<String, Long> typeFacets;
+    @JsonView(View.Summary.class)
+    private Map<String, Long> sizeFacets;
+}
@@ -0,0 +1,18 @@
+package com.secondhand.marketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GarmentPageDto {
+    @JsonView(View.Summary.class)
+    private List<GarmentDto> items;
+    @JsonView(View.Summary.class)
+    private String nextCursor;
+}
@@ -8,21 +8,36 @@ import lombok.Setter;
 
 
 @Entity
-@Table(name = "garment")
+@Table(name = "garment", indexes = {
+        // Equality on the filter attribute, then the price range / price ordering
+        @Index(name = "idx_garment_type_price", columnList = "type, price"),
+        @Index(name = "idx_garment_size_price", columnList = "size, price"),
+        // A publisher's garments in id order, for walking them in batches
+        @Index(name = "idx_garment_user_id", columnList = "user_id, id")
+})
 @Getter @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Garment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (pooled, 50 per round trip) keep JDBC insert batching possible; IDENTITY disables it
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "garment_seq")
+    @SequenceGenerator(name = "garment_seq", sequenceName = "garment_seq", allocationSize = 50)
     private Long id;
+    // Few distinct values across many rows: loaded as shared canonical instances
+    @Convert(converter = GarmentAttributeConverter.class)
     private String type;
     private String description;
+    @Convert(converter = GarmentAttributeConverter.class)
     private String size;
     private double price;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false) // Foreign key column in garments table
     private User publisher;
+
+    // Optimistic locking: bumped on every update, stale writes fail instead of overwriting
+    @Version
+    private Long version;
 }
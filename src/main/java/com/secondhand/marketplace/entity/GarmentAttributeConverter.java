@@ -0,0 +1,23 @@
+package com.secondhand.marketplace.entity;
+
+import com.secondhand.marketplace.utils.StringDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Swaps the per-row strings the JDBC driver returns for garment types and sizes with their canonical
+ * instances, for entities and JPQL projections alike. The column values are stored unchanged.
+ */
+@Converter
+public class GarmentAttributeConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return attribute;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return StringDictionary.GARMENT_ATTRIBUTES.canonical(dbData);
+    }
+}
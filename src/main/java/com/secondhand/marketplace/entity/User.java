@@ -13,7 +13,8 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "user_app")
+@Table(name = "user_app", uniqueConstraints =
+        @UniqueConstraint(name = "uk_user_app_username", columnNames = "username"))
 @Getter
 @Setter
 @AllArgsConstructor
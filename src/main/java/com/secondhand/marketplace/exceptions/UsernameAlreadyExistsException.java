@@ -0,0 +1,7 @@
+package com.secondhand.marketplace.exceptions;
+
+public class UsernameAlreadyExistsException extends RuntimeException {
+    public UsernameAlreadyExistsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,217 @@
+package com.secondhand.marketplace.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secondhand.marketplace.utils.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles POST /api/authenticate per client IP and per username before any credential check runs.
+ * Rejected attempts get 429 with a Retry-After header.
+ */
+@Component
+@Slf4j
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    static final String AUTHENTICATE_PATH = "/api/authenticate";
+    // Login bodies are tiny; larger ones are rejected so the username check cannot be skipped by padding
+    static final int MAX_BODY_BYTES = 4096;
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter usernameLimiter;
+    private final ObjectMapper objectMapper;
+
+    private Counter ipThrottledCounter;
+    private Counter usernameThrottledCounter;
+
+    @Autowired
+    public AuthRateLimitFilter(
+            @Value("${marketplace.auth-rate-limit.enabled:true}") boolean enabled,
+            @Value("${marketplace.auth-rate-limit.per-ip.capacity:20}") int ipCapacity,
+            @Value("${marketplace.auth-rate-limit.per-ip.period:1m}") Duration ipPeriod,
+            @Value("${marketplace.auth-rate-limit.per-username.capacity:5}") int usernameCapacity,
+            @Value("${marketplace.auth-rate-limit.per-username.period:1m}") Duration usernamePeriod,
+            @Value("${marketplace.auth-rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${marketplace.auth-rate-limit.idle-timeout:10m}") Duration idleTimeout,
+            ObjectMapper objectMapper) {
+        this(enabled,
+                new TokenBucketRateLimiter(ipCapacity, ipPeriod, maxKeys, idleTimeout),
+                new TokenBucketRateLimiter(usernameCapacity, usernamePeriod, maxKeys, idleTimeout),
+                objectMapper);
+    }
+
+    AuthRateLimitFilter(boolean enabled, TokenBucketRateLimiter ipLimiter, TokenBucketRateLimiter usernameLimiter,
+                        ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.ipLimiter = ipLimiter;
+        this.usernameLimiter = usernameLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.ipThrottledCounter = throttledCounter(meterRegistry, "ip");
+        this.usernameThrottledCounter = throttledCounter(meterRegistry, "username");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // The URI without the context path; the servlet path is empty when the dispatcher is not mapped at "/"
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !"POST".equals(request.getMethod()) || !AUTHENTICATE_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            ipThrottledCounter.increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            log.debug("Rejected login body larger than {} bytes", MAX_BODY_BYTES);
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            response.setContentType("text/plain");
+            response.getWriter().write("Login request too large");
+            return;
+        }
+
+        String username = readUsername(body);
+        if (username != null) {
+            waitNanos = usernameLimiter.tryAcquire(username.trim().toLowerCase(Locale.ROOT));
+            if (waitNanos > 0) {
+                usernameThrottledCounter.increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        chain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String readUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            // Malformed bodies are left to the controller to reject
+            return null;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Throttled login attempt, retry after {}s", retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write("Too many login attempts");
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("marketplace.auth.throttled")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replays the login body, which the filter has read in full for the username check.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is in memory: it is available at once, and then all read
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
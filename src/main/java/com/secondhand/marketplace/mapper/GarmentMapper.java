@@ -0,0 +1,62 @@
+package com.secondhand.marketplace.mapper;
+
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain field-by-field mapping between {@link Garment} and {@link GarmentDto}, used on every
+ * request instead of reflective mapping.
+ */
+@Component
+public class GarmentMapper {
+
+    public GarmentDto toDto(Garment garment) {
+        User publisher = garment.getPublisher();
+        return new GarmentDto(
+                garment.getId(),
+                garment.getType(),
+                garment.getDescription(),
+                garment.getSize(),
+                garment.getPrice(),
+                (publisher != null) ? publisher.getId() : null,
+                garment.getVersion());
+    }
+
+    public List<GarmentDto> toDtos(List<Garment> garments) {
+        List<GarmentDto> garmentDtos = new ArrayList<>(garments.size());
+        for (Garment garment : garments) {
+            garmentDtos.add(toDto(garment));
+        }
+        return garmentDtos;
+    }
+
+    /**
+     * Copies only the client-editable fields. The id and publisher are never taken from the request body;
+     * the controller sets the publisher from the authenticated user. The version is left unset: a new
+     * garment with a version would be merged instead of persisted, starting at the client's value.
+     * Type and size are copied as sent and only canonicalized when read back from the database, so raw
+     * request strings never enter the shared {@code StringDictionary}.
+     */
+    public Garment toEntity(GarmentDto garmentDto) {
+        Garment garment = new Garment();
+        garment.setType(garmentDto.getType());
+        garment.setDescription(garmentDto.getDescription());
+        garment.setSize(garmentDto.getSize());
+        garment.setPrice(garmentDto.getPrice());
+        return garment;
+    }
+
+    /**
+     * Like {@link #toEntity}, plus the version the client last saw, which the update checks.
+     */
+    public Garment toUpdateEntity(GarmentDto garmentDto) {
+        Garment garment = toEntity(garmentDto);
+        garment.setVersion(garmentDto.getVersion());
+        return garment;
+    }
+}
@@ -0,0 +1,13 @@
+package com.secondhand.marketplace.mapper;
+
+import com.secondhand.marketplace.dto.UserRegistrationDTO;
+import com.secondhand.marketplace.entity.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserMapper {
+
+    public User toEntity(UserRegistrationDTO userDto) {
+        return new User(userDto.getUsername(), userDto.getPassword(), userDto.getFullName(), userDto.getAddress());
+    }
+}
@@ -0,0 +1,15 @@
+package com.secondhand.marketplace.model;
+
+import java.security.Principal;
+
+/**
+ * The principal of an authenticated request, built from the JWT claims alone so that no user has to be
+ * loaded from the database.
+ */
+public record AuthenticatedUser(Long id, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,18 @@
+package com.secondhand.marketplace.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Garments to unpublish: either the given {@code ids} or, with {@code all}, every garment of the user.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUnpublishRequest {
+    private List<Long> ids;
+    private boolean all;
+}
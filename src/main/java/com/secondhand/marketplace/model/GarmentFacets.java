@@ -0,0 +1,13 @@
+package com.secondhand.marketplace.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class GarmentFacets {
+    private Map<String, Long> types;
+    private Map<String, Long> sizes;
+}
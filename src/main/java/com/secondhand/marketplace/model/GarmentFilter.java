@@ -0,0 +1,18 @@
+package com.secondhand.marketplace.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GarmentFilter {
+    private List<String> types;
+    private List<String> sizes;
+    private Double minPrice;
+    private Double maxPrice;
+    private GarmentSort sort = GarmentSort.NEWEST;
+}
@@ -0,0 +1,20 @@
+package com.secondhand.marketplace.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partial garment update: null fields are left unchanged. {@code version} is required and must match
+ * the stored version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GarmentPatch {
+    private String type;
+    private String description;
+    private String size;
+    private Double price;
+    private Long version;
+}
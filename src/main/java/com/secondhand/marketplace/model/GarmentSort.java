@@ -0,0 +1,19 @@
+package com.secondhand.marketplace.model;
+
+import org.springframework.data.domain.Sort;
+
+public enum GarmentSort {
+    PRICE_ASC(Sort.by(Sort.Direction.ASC, "price", "id")),
+    PRICE_DESC(Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.ASC, "id"))),
+    NEWEST(Sort.by(Sort.Direction.DESC, "id"));
+
+    private final Sort sort;
+
+    GarmentSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public Sort toSort() {
+        return sort;
+    }
+}
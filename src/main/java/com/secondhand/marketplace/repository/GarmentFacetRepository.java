@@ -0,0 +1,15 @@
+package com.secondhand.marketplace.repository;
+
+import com.secondhand.marketplace.entity.Garment;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+public interface GarmentFacetRepository {
+
+    /**
+     * Counts the garments matching {@code specification}, grouped by the given attribute
+     * (e.g. {@link GarmentSpecifications#TYPE}), most frequent value first.
+     */
+    Map<String, Long> countByFacet(String attribute, Specification<Garment> specification);
+}
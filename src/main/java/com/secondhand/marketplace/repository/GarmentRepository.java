@@ -1,13 +1,76 @@
 package com.secondhand.marketplace.repository;
 
 
+import com.secondhand.marketplace.dto.GarmentDto;
 import com.secondhand.marketplace.entity.Garment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface GarmentRepository extends JpaRepository<Garment, Long> {
-    List<Garment> findByType(String type);
+public interface GarmentRepository extends JpaRepository<Garment, Long>, JpaSpecificationExecutor<Garment>,
+        GarmentFacetRepository {
+
+    // Keyset pagination: callers pass the last id they have seen and a Pageable that only carries
+    // the page size, so the database seeks on the primary key instead of skipping earlier rows.
+    // Both read the garment columns and the user_id foreign key in one statement, without touching user_app.
+    @Query("SELECT new com.secondhand.marketplace.dto.GarmentDto(g.id, g.type, g.description, g.size, g.price, g.publisher.id, g.version) "
+            + "FROM Garment g WHERE g.id > :afterId ORDER BY g.id")
+    List<GarmentDto> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.secondhand.marketplace.dto.GarmentDto(g.id, g.type, g.description, g.size, g.price, g.publisher.id, g.version) "
+            + "FROM Garment g WHERE g.type = :type AND g.id > :afterId ORDER BY g.id")
+    List<GarmentDto> findPageByTypeAfter(@Param("type") String type, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.secondhand.marketplace.dto.GarmentDto(g.id, g.type, g.description, g.size, g.price, g.publisher.id, g.version) "
+            + "FROM Garment g WHERE g.id IN :ids")
+    List<GarmentDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Partial update in one statement: null arguments keep the current value, and the row only
+    // changes if it belongs to the publisher and still has the expected version. Returns 0 or 1.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Garment g SET g.type = COALESCE(:type, g.type), g.description = COALESCE(:description, g.description), "
+            + "g.size = COALESCE(:size, g.size), g.price = COALESCE(:price, g.price), g.version = g.version + 1 "
+            + "WHERE g.id = :id AND g.publisher.id = :publisherId AND g.version = :version")
+    int patch(@Param("id") Long id, @Param("publisherId") Long publisherId, @Param("version") Long version,
+              @Param("type") String type, @Param("description") String description, @Param("size") String size,
+              @Param("price") Double price);
+
+    // Ownership-checked delete in one statement. Returns 0 if the garment does not exist or belongs to
+    // someone else.
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Garment g WHERE g.id = :id AND g.publisher.id = :publisherId")
+    int deleteByIdAndPublisherId(@Param("id") Long id, @Param("publisherId") Long publisherId);
+
+    @Query("SELECT g.id FROM Garment g WHERE g.id IN :ids AND g.publisher.id = :publisherId")
+    List<Long> findOwnedIds(@Param("ids") Collection<Long> ids, @Param("publisherId") Long publisherId);
+
+    // Keyset walk over one publisher's garments, a page of ids at a time
+    @Query("SELECT g.id FROM Garment g WHERE g.publisher.id = :publisherId AND g.id > :afterId ORDER BY g.id")
+    List<Long> findIdsByPublisherAfter(@Param("publisherId") Long publisherId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Must be consumed inside a transaction and closed by the caller
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT g FROM Garment g ORDER BY g.id")
+    Stream<Garment> streamAll();
+
+    // Must be consumed inside a transaction and closed by the caller
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.secondhand.marketplace.dto.GarmentDto(g.id, g.type, g.description, g.size, g.price, g.publisher.id, g.version) "
+            + "FROM Garment g")
+    Stream<GarmentDto> streamAllDtos();
 }
@@ -0,0 +1,49 @@
+package com.secondhand.marketplace.repository;
+
+import com.secondhand.marketplace.entity.Garment;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Building blocks for garment filters. Each factory returns {@code null} when its criterion is not set,
+ * which {@link Specification#and} treats as "no restriction".
+ */
+public final class GarmentSpecifications {
+
+    public static final String TYPE = "type";
+    public static final String SIZE = "size";
+    public static final String PRICE = "price";
+
+    private GarmentSpecifications() {
+    }
+
+    public static Specification<Garment> typeIn(Collection<String> types) {
+        return attributeIn(TYPE, types);
+    }
+
+    public static Specification<Garment> sizeIn(Collection<String> sizes) {
+        return attributeIn(SIZE, sizes);
+    }
+
+    public static Specification<Garment> priceBetween(Double minPrice, Double maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<Double> price = root.get(PRICE);
+            if (minPrice != null && maxPrice != null) {
+                return cb.between(price, minPrice, maxPrice);
+            }
+            return (minPrice != null) ? cb.greaterThanOrEqualTo(price, minPrice) : cb.lessThanOrEqualTo(price, maxPrice);
+        };
+    }
+
+    private static Specification<Garment> attributeIn(String attribute, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get(attribute).in(values);
+    }
+}
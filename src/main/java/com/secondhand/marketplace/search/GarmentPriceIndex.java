@@ -0,0 +1,102 @@
+package com.secondhand.marketplace.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory secondary index of garments by type, ordered by price.
+ * <p>
+ * Each type keeps a concurrent skip list of (price, id), so a price range or the N cheapest garments
+ * are found in O(log n + k). Writes are serialized, reads are lock-free.
+ */
+@Component
+public class GarmentPriceIndex {
+
+    // type -> listings of that type, cheapest first (ties broken by id)
+    private final Map<String, NavigableSet<Listing>> byType = new ConcurrentHashMap<>();
+    // garment id -> its type and listing, so updates and removals find the old position
+    private final Map<Long, Indexed> garments = new ConcurrentHashMap<>();
+
+    public synchronized void index(Long id, String type, double price) {
+        remove(id);
+        if (type == null) {
+            return;
+        }
+        Listing listing = new Listing(price, id);
+        byType.computeIfAbsent(type, t -> new ConcurrentSkipListSet<>()).add(listing);
+        garments.put(id, new Indexed(type, listing));
+    }
+
+    /**
+     * Re-indexes the given fields of an indexed garment; a null field keeps its current value.
+     * Garments that are not in the index are ignored.
+     */
+    public synchronized void update(Long id, String type, Double price) {
+        Indexed current = garments.get(id);
+        if (current == null) {
+            return;
+        }
+        index(id, (type != null) ? type : current.type(), (price != null) ? price : current.listing().price());
+    }
+
+    public synchronized void remove(Long id) {
+        Indexed indexed = garments.remove(id);
+        if (indexed == null) {
+            return;
+        }
+        NavigableSet<Listing> listings = byType.get(indexed.type());
+        listings.remove(indexed.listing());
+        if (listings.isEmpty()) {
+            byType.remove(indexed.type());
+        }
+    }
+
+    public synchronized void clear() {
+        byType.clear();
+        garments.clear();
+    }
+
+    public int size() {
+        return garments.size();
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} garments of the type priced between {@code minPrice} and
+     * {@code maxPrice} (both inclusive), cheapest first.
+     */
+    public List<Long> findCheapest(String type, double minPrice, double maxPrice, int limit) {
+        NavigableSet<Listing> listings = byType.get(type);
+        if (listings == null || limit <= 0 || minPrice > maxPrice) {
+            return Collections.emptyList();
+        }
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, 64));
+        for (Listing listing : listings.subSet(new Listing(minPrice, Long.MIN_VALUE), true,
+                new Listing(maxPrice, Long.MAX_VALUE), true)) {
+            ids.add(listing.id());
+            if (ids.size() == limit) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private record Listing(double price, long id) implements Comparable<Listing> {
+
+        @Override
+        public int compareTo(Listing other) {
+            int byPrice = Double.compare(price, other.price);
+            return (byPrice != 0) ? byPrice : Long.compare(id, other.id);
+        }
+    }
+
+    private record Indexed(String type, Listing listing) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.secondhand.marketplace.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over garment type and description.
+ * <p>
+ * Writes are serialized, reads are lock-free. Results are ranked by the sum of field-weighted term
+ * frequencies times inverse document frequency, so rare words and matches in the type count more.
+ */
+@Component
+public class GarmentSearchIndex {
+
+    private static final int TYPE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // term -> (garment id -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    // garment id -> its terms per field, so updates and removals only touch its own postings
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    public synchronized void index(Long id, String type, String description) {
+        put(id, tokenize(type), tokenize(description));
+    }
+
+    /**
+     * Re-indexes the given fields of an indexed garment; a null field keeps its current terms.
+     * Garments that are not in the index are ignored.
+     */
+    public synchronized void update(Long id, String type, String description) {
+        Document current = documents.get(id);
+        if (current == null) {
+            return;
+        }
+        put(id, (type != null) ? tokenize(type) : current.typeTerms(),
+                (description != null) ? tokenize(description) : current.descriptionTerms());
+    }
+
+    public synchronized void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        removePostings(id, document.typeTerms());
+        removePostings(id, document.descriptionTerms());
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Returns the ids of the best matching garments, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        int documentCount = Math.max(1, documents.size());
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches == null || matches.isEmpty()) {
+                continue;
+            }
+            double idf = Math.log(1.0 + (double) documentCount / matches.size());
+            matches.forEach((id, weight) -> scores.merge(id, weight * idf, Double::sum));
+        }
+
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private void put(Long id, List<String> typeTerms, List<String> descriptionTerms) {
+        remove(id);
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : typeTerms) {
+            weights.merge(term, TYPE_WEIGHT, Integer::sum);
+        }
+        for (String term : descriptionTerms) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(id, weight));
+        documents.put(id, new Document(List.copyOf(typeTerms), List.copyOf(descriptionTerms)));
+    }
+
+    private void removePostings(Long id, List<String> terms) {
+        for (String term : terms) {
+            postings.computeIfPresent(term, (t, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private record Document(List<String> typeTerms, List<String> descriptionTerms) {
+    }
+}
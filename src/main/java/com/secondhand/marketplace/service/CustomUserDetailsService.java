@@ -1,7 +1,9 @@
 package com.secondhand.marketplace.service;
 
+import com.secondhand.marketplace.config.CacheConfig;
 import com.secondhand.marketplace.entity.User;
 import com.secondhand.marketplace.repository.UserRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,7 +17,10 @@ public class CustomUserDetailsService implements UserDetailsService {
         this.userRepository = userRepository;
     }
 
+    // Called by the AuthenticationManager on login (bearer tokens carry their own principal); entries
+    // expire after a short TTL and are evicted by UserService when the user changes.
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#username")
     public User loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
@@ -0,0 +1,51 @@
+package com.secondhand.marketplace.service;
+
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.repository.GarmentRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Saves and deletes garments in chunks, one transaction per chunk. Kept apart from {@link GarmentService}
+ * so that each call goes through the transactional proxy.
+ */
+@Component
+public class GarmentBatchWriter {
+
+    private final GarmentRepository garmentRepository;
+    private final EntityManager entityManager;
+
+    public GarmentBatchWriter(GarmentRepository garmentRepository, EntityManager entityManager) {
+        this.garmentRepository = garmentRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Inserts the chunk as JDBC batches and detaches it afterwards, so the persistence context
+     * does not grow with the size of the import.
+     */
+    @Transactional
+    public List<Garment> saveChunk(List<Garment> garments) {
+        List<Garment> savedGarments = garmentRepository.saveAll(garments);
+        entityManager.flush();
+        entityManager.clear();
+        return savedGarments;
+    }
+
+    /**
+     * Deletes those garments of the chunk that belong to the publisher, with one set-based DELETE,
+     * and returns their ids. Entities are never loaded.
+     */
+    @Transactional
+    public List<Long> deleteOwnedChunk(Collection<Long> ids, Long publisherId) {
+        List<Long> ownedIds = garmentRepository.findOwnedIds(ids, publisherId);
+        if (!ownedIds.isEmpty()) {
+            garmentRepository.deleteAllByIdInBatch(ownedIds);
+        }
+        return ownedIds;
+    }
+}
@@ -0,0 +1,40 @@
+package com.secondhand.marketplace.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secondhand.marketplace.config.CacheConfig;
+import com.secondhand.marketplace.exceptions.GarmentNotFoundException;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Serialized garment detail responses, keyed by garment id. Entries are evicted by
+ * {@link GarmentService} whenever the garment is updated or unpublished.
+ */
+@Component
+@Slf4j
+public class GarmentDetailCache {
+
+    private final GarmentService garmentService;
+    private final GarmentMapper garmentMapper;
+    private final ObjectMapper objectMapper;
+
+    public GarmentDetailCache(GarmentService garmentService, GarmentMapper garmentMapper, ObjectMapper objectMapper) {
+        this.garmentService = garmentService;
+        this.garmentMapper = garmentMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.GARMENT_DETAILS, key = "#id")
+    public CachedGarment get(Long id) throws GarmentNotFoundException, JsonProcessingException {
+        log.debug("Garment detail cache miss for id {}", id);
+        byte[] json = objectMapper.writeValueAsBytes(garmentMapper.toDto(garmentService.getGarmentById(id)));
+        return new CachedGarment(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+
+    public record CachedGarment(byte[] json, String etag) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.secondhand.marketplace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.dto.View;
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import com.secondhand.marketplace.repository.GarmentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class GarmentExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final GarmentRepository garmentRepository;
+    private final GarmentMapper garmentMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public GarmentExportService(GarmentRepository garmentRepository, GarmentMapper garmentMapper,
+                                EntityManager entityManager, ObjectMapper objectMapper) {
+        this.garmentRepository = garmentRepository;
+        this.garmentMapper = garmentMapper;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerWithView(View.Detailed.class);
+    }
+
+    /**
+     * Writes every garment as one JSON document per line. Rows are read through a database cursor
+     * and detached in batches, so memory use does not depend on the size of the catalog.
+     */
+    @Transactional(readOnly = true)
+    public long exportGarments(OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (Stream<Garment> garments = garmentRepository.streamAll()) {
+            Iterator<Garment> iterator = garments.iterator();
+            while (iterator.hasNext()) {
+                GarmentDto garmentDto = garmentMapper.toDto(iterator.next());
+                outputStream.write(writer.writeValueAsBytes(garmentDto));
+                outputStream.write('\n');
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    outputStream.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        outputStream.flush();
+
+        log.info("Exported {} garments", count);
+        return count;
+    }
+}
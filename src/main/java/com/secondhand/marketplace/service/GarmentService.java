@@ -1,33 +1,204 @@
 package com.secondhand.marketplace.service;
 
+import com.secondhand.marketplace.config.CacheConfig;
+import com.secondhand.marketplace.dto.BulkPublishResultDto;
+import com.secondhand.marketplace.dto.GarmentDto;
 import com.secondhand.marketplace.entity.Garment;
 import com.secondhand.marketplace.entity.User;
 import com.secondhand.marketplace.exceptions.GarmentNotFoundException;
 import com.secondhand.marketplace.exceptions.UnauthorizedActionException;
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import com.secondhand.marketplace.model.GarmentFacets;
+import com.secondhand.marketplace.model.GarmentFilter;
+import com.secondhand.marketplace.model.GarmentPatch;
+import com.secondhand.marketplace.model.GarmentSort;
 import com.secondhand.marketplace.repository.GarmentRepository;
+import com.secondhand.marketplace.repository.GarmentSpecifications;
+import com.secondhand.marketplace.repository.UserRepository;
+import com.secondhand.marketplace.search.GarmentPriceIndex;
+import com.secondhand.marketplace.search.GarmentSearchIndex;
+import jakarta.persistence.PersistenceException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class GarmentService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BULK_SIZE = 100_000;
+    // A multiple of hibernate.jdbc.batch_size, so every chunk is sent as full JDBC batches
+    static final int BULK_CHUNK_SIZE = 500;
+    // Ids per DELETE ... WHERE id IN (...) when unpublishing in bulk
+    static final int UNPUBLISH_BATCH_SIZE = 1000;
+
     private final GarmentRepository garmentRepository;
+    private final GarmentSearchIndex searchIndex;
+    private final GarmentPriceIndex priceIndex;
+    private final GarmentBatchWriter batchWriter;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    // Bumped after every committed write (and index rebuild); listings are tagged with it
+    private final AtomicLong catalogVersion = new AtomicLong();
 
     // Constructor-based dependency injection
-    public GarmentService(GarmentRepository garmentRepository) {
+    public GarmentService(GarmentRepository garmentRepository, GarmentSearchIndex searchIndex, GarmentPriceIndex priceIndex,
+                          GarmentBatchWriter batchWriter, UserRepository userRepository, CacheManager cacheManager) {
         this.garmentRepository = garmentRepository;
+        this.searchIndex = searchIndex;
+        this.priceIndex = priceIndex;
+        this.batchWriter = batchWriter;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    // Runs off the startup thread; searches return partial results until the rebuild finishes
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndexes() {
+        log.info("Rebuilding garment search and price indexes");
+        searchIndex.clear();
+        priceIndex.clear();
+        try (Stream<GarmentDto> garments = garmentRepository.streamAllDtos()) {
+            garments.forEach(garment -> {
+                searchIndex.index(garment.getId(), garment.getType(), garment.getDescription());
+                priceIndex.index(garment.getId(), garment.getType(), garment.getPrice());
+            });
+        }
+        // Search results served while the indexes were filling must not stay valid
+        catalogVersion.incrementAndGet();
+        log.info("Indexed {} garments for search, {} by price", searchIndex.size(), priceIndex.size());
+    }
+
+    /**
+     * Version of the catalog as a whole, changed by every write. Equal versions mean that listings,
+     * filters and searches return the same results.
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.get();
     }
 
-    public List<Garment> getAllGarments(String type) {
+    public Slice<GarmentDto> getGarmentPage(String type, Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long cursor = (afterId != null) ? afterId : 0L;
+        // Fetch one extra row so we know whether another page exists without a count query
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<GarmentDto> garments;
         if (type != null && !type.isEmpty()) {
-            log.info("Fetching garments by type: {}", type);
-            return garmentRepository.findByType(type);
+            log.debug("Fetching garments of type {} after id {} (page size {})", type, cursor, pageSize);
+            garments = garmentRepository.findPageByTypeAfter(type, cursor, limit);
+        } else {
+            log.debug("Fetching garments after id {} (page size {})", cursor, pageSize);
+            garments = garmentRepository.findPageAfter(cursor, limit);
+        }
+
+        boolean hasNext = garments.size() > pageSize;
+        List<GarmentDto> content = hasNext ? garments.subList(0, pageSize) : garments;
+        return new SliceImpl<>(content, PageRequest.ofSize(pageSize), hasNext);
+    }
+
+    public Page<Garment> filterGarments(GarmentFilter filter, int page, int size) {
+        validatePriceRange(filter);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Specification<Garment> specification = Specification.where(GarmentSpecifications.typeIn(filter.getTypes()))
+                .and(GarmentSpecifications.sizeIn(filter.getSizes()))
+                .and(GarmentSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice()));
+
+        GarmentSort sort = (filter.getSort() != null) ? filter.getSort() : GarmentSort.NEWEST;
+
+        log.debug("Filtering garments with {} (page {}, size {})", filter, page, pageSize);
+        return garmentRepository.findAll(specification, PageRequest.of(page, pageSize, sort.toSort()));
+    }
+
+    /**
+     * Counts per type and per size. Each dimension is counted with all the other criteria applied but not its own,
+     * so clients can show how many results selecting another value would give.
+     */
+    public GarmentFacets countFacets(GarmentFilter filter) {
+        validatePriceRange(filter);
+        Specification<Garment> byType = GarmentSpecifications.typeIn(filter.getTypes());
+        Specification<Garment> bySize = GarmentSpecifications.sizeIn(filter.getSizes());
+        Specification<Garment> byPrice = GarmentSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice());
+
+        Map<String, Long> types = garmentRepository.countByFacet(GarmentSpecifications.TYPE,
+                Specification.where(bySize).and(byPrice));
+        Map<String, Long> sizes = garmentRepository.countByFacet(GarmentSpecifications.SIZE,
+                Specification.where(byType).and(byPrice));
+        return new GarmentFacets(types, sizes);
+    }
+
+    private void validatePriceRange(GarmentFilter filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
         }
-        log.info("Fetching all garments");
-        return garmentRepository.findAll();
+    }
+
+    public List<GarmentDto> searchGarments(String query, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<GarmentDto> results = findDtosInOrder(searchIndex.search(query, limit));
+        log.debug("Search for '{}' matched {} garments", query, results.size());
+        return results;
+    }
+
+    /**
+     * Garments of the type priced between minPrice and maxPrice (both optional, inclusive), cheapest
+     * first. The ids come from the in-memory price index, the garments from one query by id.
+     */
+    public List<GarmentDto> getCheapestGarments(String type, Double minPrice, Double maxPrice, int size) {
+        double min = (minPrice != null) ? minPrice : 0.0;
+        double max = (maxPrice != null) ? maxPrice : Double.POSITIVE_INFINITY;
+        if (min > max) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<GarmentDto> results = findDtosInOrder(priceIndex.findCheapest(type, min, max, limit));
+        log.debug("Price range [{}, {}] for type {} matched {} garments", min, max, type, results.size());
+        return results;
+    }
+
+    // Loads the garments with one query and returns them in the order of the given ids
+    private List<GarmentDto> findDtosInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, GarmentDto> garmentsById = garmentRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(GarmentDto::getId, Function.identity()));
+        List<GarmentDto> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            GarmentDto garmentDto = garmentsById.get(id);
+            if (garmentDto != null) {
+                results.add(garmentDto);
+            }
+        }
+        return results;
     }
 
     public Garment getGarmentById(Long id) throws GarmentNotFoundException {
@@ -38,45 +209,231 @@ public class GarmentService {
                 });
     }
 
-    public Garment publishGarment(Garment garment) {
-        log.info("Publishing garment: {}", garment);
-        return garmentRepository.save(garment);
+    public Garment publishGarment(Garment garment, AuthenticatedUser currentUser) {
+        log.info("Publishing garment of type {}", garment.getType());
+        // A reference is enough for the foreign key; the user row is never read
+        garment.setPublisher(userRepository.getReferenceById(currentUser.id()));
+        Garment savedGarment = garmentRepository.save(garment);
+        index(savedGarment);
+        return savedGarment;
     }
 
-    public Garment updateGarment(Long id, Garment updatedGarment, User currentUser) throws GarmentNotFoundException {
+    /**
+     * Publishes the garments in chunked transactions and returns one result per garment, in the
+     * same order. Invalid garments are rejected on their own; if a chunk fails to save, only the
+     * garments of that chunk are reported as failed.
+     */
+    public List<BulkPublishResultDto> bulkPublish(List<Garment> garments, AuthenticatedUser currentUser) {
+        if (garments.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " garments can be published at once");
+        }
+
+        User publisher = userRepository.getReferenceById(currentUser.id());
+        BulkPublishResultDto[] results = new BulkPublishResultDto[garments.size()];
+        List<Garment> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(BULK_CHUNK_SIZE);
+        for (int i = 0; i < garments.size(); i++) {
+            Garment garment = garments.get(i);
+            String error = validateForPublish(garment);
+            if (error != null) {
+                results[i] = new BulkPublishResultDto(i, null, BulkPublishResultDto.Status.REJECTED, error);
+                continue;
+            }
+
+            garment.setPublisher(publisher);
+            chunk.add(garment);
+            chunkIndexes.add(i);
+            if (chunk.size() == BULK_CHUNK_SIZE) {
+                saveChunk(chunk, chunkIndexes, results);
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, chunkIndexes, results);
+        }
+
+        log.info("Bulk published {} garments for user {}", garments.size(), currentUser.id());
+        return Arrays.asList(results);
+    }
+
+    private void saveChunk(List<Garment> chunk, List<Integer> chunkIndexes, BulkPublishResultDto[] results) {
+        try {
+            List<Garment> savedGarments = batchWriter.saveChunk(chunk);
+            for (int i = 0; i < savedGarments.size(); i++) {
+                Garment savedGarment = savedGarments.get(i);
+                int index = chunkIndexes.get(i);
+                index(savedGarment);
+                results[index] = new BulkPublishResultDto(index, savedGarment.getId(), BulkPublishResultDto.Status.CREATED, null);
+            }
+        } catch (DataAccessException | PersistenceException e) {
+            log.error("Failed to save a chunk of {} garments", chunk.size(), e);
+            for (int index : chunkIndexes) {
+                results[index] = new BulkPublishResultDto(index, null, BulkPublishResultDto.Status.FAILED, "Could not save garment");
+            }
+        }
+    }
+
+    private static String validateForPublish(Garment garment) {
+        if (garment == null) {
+            return "Garment is missing";
+        }
+        if (garment.getType() == null || garment.getType().isBlank()) {
+            return "Type is required";
+        }
+        if (garment.getSize() == null || garment.getSize().isBlank()) {
+            return "Size is required";
+        }
+        if (garment.getPrice() < 0) {
+            return "Price must not be negative";
+        }
+        return null;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.GARMENT_DETAILS, key = "#id")
+    public Garment updateGarment(Long id, Garment updatedGarment, AuthenticatedUser currentUser) throws GarmentNotFoundException {
         Garment existingGarment = garmentRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Garment not found with ID: {}", id);
                     return new GarmentNotFoundException("Garment not found with ID: " + id);
                 });
 
-        if (!existingGarment.getPublisher().getId().equals(currentUser.getId())) {
-            log.warn("Unauthorized update attempt by user {} for garment ID: {}", currentUser.getId(), id);
+        if (!existingGarment.getPublisher().getId().equals(currentUser.id())) {
+            log.warn("Unauthorized update attempt by user {} for garment ID: {}", currentUser.id(), id);
             throw new UnauthorizedActionException("Unauthorized action: You do not own this garment.");
         }
 
+        // Clients that send the version they read get a conflict instead of overwriting a newer edit.
+        // Edits committed between the read above and the save are caught by @Version either way.
+        if (updatedGarment.getVersion() != null && !updatedGarment.getVersion().equals(existingGarment.getVersion())) {
+            log.warn("Stale update of garment ID: {} (version {}, current {})", id, updatedGarment.getVersion(), existingGarment.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Garment.class, id);
+        }
+
         existingGarment.setType(updatedGarment.getType());
         existingGarment.setDescription(updatedGarment.getDescription());
         existingGarment.setSize(updatedGarment.getSize());
         existingGarment.setPrice(updatedGarment.getPrice());
 
         log.info("Updating garment ID: {}", existingGarment.getId());
-        return garmentRepository.save(existingGarment);
+        Garment savedGarment = garmentRepository.save(existingGarment);
+        index(savedGarment);
+        return savedGarment;
     }
 
-    public void unpublishGarment(Long id, User currentUser) throws GarmentNotFoundException {
-        Garment garment = garmentRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Garment not found with ID: {}", id);
-                    return new GarmentNotFoundException("Garment not found with ID: " + id);
-                });
+    /**
+     * Applies the non-null fields of the patch with one conditional UPDATE, which also checks ownership
+     * and version. Returns the new version of the garment.
+     */
+    @CacheEvict(cacheNames = CacheConfig.GARMENT_DETAILS, key = "#id")
+    public long patchGarment(Long id, GarmentPatch patch, AuthenticatedUser currentUser) throws GarmentNotFoundException {
+        if (patch.getVersion() == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        if (patch.getPrice() != null && patch.getPrice() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+
+        int updated = garmentRepository.patch(id, currentUser.id(), patch.getVersion(),
+                patch.getType(), patch.getDescription(), patch.getSize(), patch.getPrice());
+        if (updated == 0) {
+            // Nothing matched: look the garment up only now to report why
+            Garment garment = garmentRepository.findById(id)
+                    .orElseThrow(() -> new GarmentNotFoundException("Garment not found with ID: " + id));
+            if (!garment.getPublisher().getId().equals(currentUser.id())) {
+                log.warn("Unauthorized patch attempt by user {} for garment ID: {}", currentUser.id(), id);
+                throw new UnauthorizedActionException("Unauthorized action: You do not own this garment.");
+            }
+            log.warn("Stale patch of garment ID: {} (version {}, current {})", id, patch.getVersion(), garment.getVersion());
+            throw new ObjectOptimisticLockingFailureException(Garment.class, id);
+        }
+
+        if (patch.getType() != null || patch.getDescription() != null) {
+            searchIndex.update(id, patch.getType(), patch.getDescription());
+        }
+        if (patch.getType() != null || patch.getPrice() != null) {
+            priceIndex.update(id, patch.getType(), patch.getPrice());
+        }
+        catalogVersion.incrementAndGet();
+        log.info("Patched garment ID: {}", id);
+        return patch.getVersion() + 1;
+    }
+
+    /**
+     * Unpublishes those of the given garments that belong to the user, in batches with one transaction
+     * each. Returns how many were removed; unknown ids and other users' garments are skipped.
+     */
+    public long bulkUnpublish(List<Long> ids, AuthenticatedUser currentUser) {
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " garments can be unpublished at once");
+        }
+
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        long removed = 0;
+        for (int from = 0; from < distinctIds.size(); from += UNPUBLISH_BATCH_SIZE) {
+            List<Long> batch = distinctIds.subList(from, Math.min(from + UNPUBLISH_BATCH_SIZE, distinctIds.size()));
+            removed += unpublishBatch(batch, currentUser.id());
+        }
+
+        log.info("Bulk unpublished {} of {} garments for user {}", removed, distinctIds.size(), currentUser.id());
+        return removed;
+    }
+
+    /**
+     * Unpublishes every garment of the user. Ids are read a batch at a time, so memory use does not
+     * depend on how many garments the user has.
+     */
+    public long unpublishAll(AuthenticatedUser currentUser) {
+        long removed = 0;
+        long afterId = 0L;
+        List<Long> batch;
+        while (!(batch = garmentRepository.findIdsByPublisherAfter(currentUser.id(), afterId,
+                PageRequest.ofSize(UNPUBLISH_BATCH_SIZE))).isEmpty()) {
+            removed += unpublishBatch(batch, currentUser.id());
+            afterId = batch.get(batch.size() - 1);
+        }
 
-        if (!garment.getPublisher().getId().equals(currentUser.getId())) {
-            log.warn("Unauthorized delete attempt by user {} for garment ID: {}", currentUser.getId(), id);
+        log.info("Unpublished all {} garments of user {}", removed, currentUser.id());
+        return removed;
+    }
+
+    // Evicts only the garments that were deleted, once their batch has committed
+    private int unpublishBatch(List<Long> ids, Long publisherId) {
+        List<Long> deletedIds = batchWriter.deleteOwnedChunk(ids, publisherId);
+        Cache garmentDetails = cacheManager.getCache(CacheConfig.GARMENT_DETAILS);
+        for (Long id : deletedIds) {
+            garmentDetails.evict(id);
+            unindex(id);
+        }
+        return deletedIds.size();
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.GARMENT_DETAILS, key = "#id")
+    public void unpublishGarment(Long id, AuthenticatedUser currentUser) throws GarmentNotFoundException {
+        int deleted = garmentRepository.deleteByIdAndPublisherId(id, currentUser.id());
+        if (deleted == 0) {
+            // Nothing deleted: only now check whether the garment exists to report why
+            if (!garmentRepository.existsById(id)) {
+                log.error("Garment not found with ID: {}", id);
+                throw new GarmentNotFoundException("Garment not found with ID: " + id);
+            }
+            log.warn("Unauthorized delete attempt by user {} for garment ID: {}", currentUser.id(), id);
             throw new UnauthorizedActionException("Unauthorized action: You do not own this garment.");
         }
 
-        log.info("Unpublishing garment ID: {}", garment.getId());
-        garmentRepository.delete(garment);
+        log.info("Unpublished garment ID: {}", id);
+        unindex(id);
+    }
+
+    private void index(Garment garment) {
+        searchIndex.index(garment.getId(), garment.getType(), garment.getDescription());
+        priceIndex.index(garment.getId(), garment.getType(), garment.getPrice());
+        catalogVersion.incrementAndGet();
+    }
+
+    private void unindex(Long id) {
+        searchIndex.remove(id);
+        priceIndex.remove(id);
+        catalogVersion.incrementAndGet();
     }
 }
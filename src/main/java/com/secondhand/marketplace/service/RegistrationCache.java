@@ -0,0 +1,33 @@
+package com.secondhand.marketplace.service;
+
+import com.secondhand.marketplace.config.CacheConfig;
+import com.secondhand.marketplace.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registrations keyed by the client's Idempotency-Key. A retry with the same key gets the original
+ * result instead of registering again; concurrent requests with the same key wait for the first one.
+ * Failed registrations are not cached.
+ */
+@Component
+@Slf4j
+public class RegistrationCache {
+
+    private final UserService userService;
+
+    public RegistrationCache(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.REGISTRATIONS, key = "#idempotencyKey", sync = true)
+    public RegisteredUser register(String idempotencyKey, User user) {
+        log.debug("No registration recorded for idempotency key, registering {}", user.getUsername());
+        User savedUser = userService.registerUser(user);
+        return new RegisteredUser(savedUser.getId(), savedUser.getUsername());
+    }
+
+    public record RegisteredUser(Long id, String username) {
+    }
+}
@@ -1,8 +1,12 @@
 package com.secondhand.marketplace.service;
 
+import com.secondhand.marketplace.config.CacheConfig;
 import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.exceptions.UsernameAlreadyExistsException;
 import com.secondhand.marketplace.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -18,13 +22,22 @@ public class UserService {
         this.passwordEncoder = passwordEncoder;
     }
 
+    /**
+     * Inserts the user with a single statement; the unique index on username rejects duplicates,
+     * including concurrent registrations of the same name.
+     */
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#user.username")
     public User registerUser(User user) {
-        log.info("Registering user: {}", user);
-        if (userRepository.findByUsername(user.getUsername()).isPresent()) {
-            throw new RuntimeException("User with username " + user.getUsername() + " already exists");
-        }
+        log.info("Registering user: {}", user.getUsername());
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // The username index is the only constraint on user_app
+            log.warn("Registration rejected, username {} is taken", user.getUsername());
+            throw new UsernameAlreadyExistsException("User with username " + user.getUsername() + " already exists");
+        }
 
         log.info("User registered successfully with ID: {}", savedUser.getId());
         return savedUser;
@@ -1,5 +1,8 @@
 package com.secondhand.marketplace.utils;
 
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,25 +13,42 @@ import java.util.Date;
 
 @Component
 public class JwtUtil {
+    public static final String USER_ID_CLAIM = "uid";
+
     private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    // Parsers are immutable and thread-safe, so one instance is shared by all requests
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
     private final long EXPIRATION_TIME = 3600000;
 
 
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username) {
         return Jwts.builder()
                 .setSubject(username)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() +EXPIRATION_TIME))
                 .signWith(key)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    /**
+     * Verifies the signature and expiry of the token and returns its claims (subject, expiration, ...).
+     * Throws a {@link io.jsonwebtoken.JwtException} if the token is not valid.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    public boolean validateToken(String token, String username) {
-        return username.equals(extractUsername(token));
+    /**
+     * Builds the request principal from verified claims. Throws {@link IllegalArgumentException} if the
+     * token carries no user id.
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (userId == null || claims.getSubject() == null) {
+            throw new IllegalArgumentException("Token has no user id or subject");
+        }
+        return new AuthenticatedUser(userId, claims.getSubject());
     }
 
     public long getExpirationTime() {
@@ -0,0 +1,41 @@
+package com.secondhand.marketplace.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances of low-cardinality strings, such as garment types and sizes, so that equal values
+ * held for many garments share one String instead of one copy per row.
+ * <p>
+ * Bounded: once {@code maxSize} distinct values are held, unknown values are returned unchanged.
+ */
+public final class StringDictionary {
+
+    /** Shared dictionary for garment types and sizes. */
+    public static final StringDictionary GARMENT_ATTRIBUTES = new StringDictionary(10_000);
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public StringDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        String previous = values.putIfAbsent(value, value);
+        return (previous != null) ? previous : value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
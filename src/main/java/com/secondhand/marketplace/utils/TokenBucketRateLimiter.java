@@ -0,0 +1,65 @@
+package com.secondhand.marketplace.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key, allowing bursts of {@code capacity} requests and refilling one token every
+ * {@code period / capacity}. Each bucket is a single {@link AtomicLong} holding the time at which it
+ * will be full again (the GCRA form of a token bucket), updated with compare-and-set, so acquiring
+ * never blocks. Buckets live in a size-bounded Caffeine cache and are dropped once idle.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(int capacity, Duration period, long maxKeys, Duration idleTimeout) {
+        this(capacity, period, maxKeys, idleTimeout, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(int capacity, Duration period, long maxKeys, Duration idleTimeout, LongSupplier nanoClock) {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Capacity and period must be positive");
+        }
+        this.emissionIntervalNanos = period.toNanos() / capacity;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Takes a token from the key's bucket. Returns 0 if one was available, otherwise how many
+     * nanoseconds until the next token; nothing is taken in that case.
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long waitNanos = next - burstNanos - now;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,67 @@
+package com.secondhand.marketplace;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.service.GarmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ContentNegotiationTest {
+
+    private static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GarmentService garmentService;
+
+    @BeforeEach
+    public void setUp() {
+        GarmentDto garmentDto = new GarmentDto(1L, "Shirt", "Nice shirt", "M", 25.0, 7L, 0L);
+        when(garmentService.getGarmentPage(null, null, 20))
+                .thenReturn(new SliceImpl<>(List.of(garmentDto), PageRequest.ofSize(20), false));
+    }
+
+    @Test
+    public void testGetAllClothes_Cbor_KeepsDetailedView() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/clothes").accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode item = new CBORMapper().readTree(body).get("items").get(0);
+        assertEquals(1L, item.get("id").asLong());
+        assertEquals("Shirt", item.get("type").asText());
+        assertEquals(25.0, item.get("price").asDouble());
+        assertEquals(7L, item.get("publisherId").asLong());
+    }
+
+    @Test
+    public void testGetAllClothes_DefaultsToJson() throws Exception {
+        mockMvc.perform(get("/api/clothes"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items[0].publisherId").value(7));
+    }
+}
@@ -0,0 +1,64 @@
+package com.secondhand.marketplace;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+public class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    public void testPrometheusEndpoint_ExposesRequestRepositoryJwtAndPoolMetrics() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("not-a-token");
+        ResponseEntity<String> clothes = restTemplate.exchange("/api/clothes", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, clothes.getStatusCode());
+
+        ResponseEntity<String> response = restTemplate.getForEntity(managementUrl("/actuator/prometheus"), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String body = response.getBody();
+        assertTrue(body.contains("http_server_requests_seconds_bucket"));
+        assertTrue(body.contains("uri=\"/api/clothes\""));
+        assertTrue(body.contains("spring_data_repository_invocations_seconds_count"));
+        assertTrue(body.contains("marketplace_jwt_parse_seconds_count"));
+        assertTrue(body.contains("outcome=\"invalid\""));
+        assertTrue(body.contains("hikaricp_connections_active"));
+    }
+
+    @Test
+    public void testPrometheusEndpoint_NotServedOnApplicationPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void testHealthEndpoint_IsPublic() {
+        ResponseEntity<String> response = restTemplate.getForEntity(managementUrl("/actuator/health"), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    private String managementUrl(String path) {
+        return "http://localhost:" + managementPort + path;
+    }
+}
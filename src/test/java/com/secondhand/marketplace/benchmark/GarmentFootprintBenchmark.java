@@ -0,0 +1,77 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.utils.StringDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained by a 1M-garment listing, with types and sizes kept as the per-row strings a JDBC driver
+ * returns against canonical dictionary instances. The retained size is reported as the
+ * {@code retainedMegabytes} secondary result; the primary score is the load time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:+UseParallelGC"})
+@State(Scope.Benchmark)
+public class GarmentFootprintBenchmark {
+
+    private static final byte[][] TYPES = utf8("Shirt", "Jeans", "Jacket", "Dress", "Sweater", "Coat", "Skirt", "Shoes");
+    private static final byte[][] SIZES = utf8("XS", "S", "M", "L", "XL");
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    @Param({"1000000"})
+    public int garmentCount;
+
+    @Param({"false", "true"})
+    public boolean canonical;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedMegabytes;
+    }
+
+    @Benchmark
+    public List<GarmentDto> loadListing(Footprint footprint) {
+        StringDictionary dictionary = new StringDictionary(10_000);
+        long before = usedHeapAfterGc();
+
+        List<GarmentDto> garments = new ArrayList<>(garmentCount);
+        for (int i = 0; i < garmentCount; i++) {
+            // Decoding from bytes gives every row its own String, as reading a VARCHAR column does
+            String type = new String(TYPES[i % TYPES.length], StandardCharsets.UTF_8);
+            String size = new String(SIZES[i % SIZES.length], StandardCharsets.UTF_8);
+            if (canonical) {
+                type = dictionary.canonical(type);
+                size = dictionary.canonical(size);
+            }
+            garments.add(new GarmentDto((long) i, type, "Garment " + i, size, (i % 50_000) / 100.0, 1L, 0L));
+        }
+
+        footprint.retainedMegabytes = (usedHeapAfterGc() - before) >> 20;
+        return garments;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    private static byte[][] utf8(String... values) {
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+}
@@ -0,0 +1,69 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.dto.GarmentPageDto;
+import com.secondhand.marketplace.dto.View;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a 10k-item listing page as JSON against CBOR, with both views. The encoded size is
+ * reported as the {@code payloadBytes} secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GarmentFormatBenchmark {
+
+    @Param({"10000"})
+    public int listSize;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"Detailed", "Summary"})
+    public String view;
+
+    private ObjectWriter writer;
+    private GarmentPageDto page;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        // Same view handling as the mappers Spring Boot configures for both converters
+        ObjectMapper objectMapper = "cbor".equals(format)
+                ? CBORMapper.builder().disable(MapperFeature.DEFAULT_VIEW_INCLUSION).build()
+                : JsonMapper.builder().disable(MapperFeature.DEFAULT_VIEW_INCLUSION).build();
+        writer = objectMapper.writerWithView("Summary".equals(view) ? View.Summary.class : View.Detailed.class);
+
+        List<GarmentDto> garmentDtos = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            garmentDtos.add(new GarmentDto((long) i, "Shirt", "Cotton shirt number " + i, "M", 10.0 + i, 1L, 0L));
+        }
+        page = new GarmentPageDto(garmentDtos, "aWQ6MTAwMDA");
+    }
+
+    @Benchmark
+    public byte[] serializePage(Payload payload) throws JsonProcessingException {
+        byte[] body = writer.writeValueAsBytes(page);
+        payload.payloadBytes = body.length;
+        return body;
+    }
+}
@@ -0,0 +1,91 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.dto.UserRegistrationDTO;
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import com.secondhand.marketplace.mapper.UserMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective ModelMapper conversions the controllers used to do with the hand-written mappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GarmentMappingBenchmark {
+
+    @Param({"1000"})
+    public int listSize;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final GarmentMapper garmentMapper = new GarmentMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<Garment> garments;
+    private GarmentDto garmentDto;
+    private UserRegistrationDTO registration;
+
+    @Setup
+    public void setUp() {
+        User publisher = new User();
+        publisher.setId(1L);
+
+        garments = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Garment garment = new Garment();
+            garment.setId((long) i);
+            garment.setType("Shirt");
+            garment.setDescription("Cotton shirt number " + i);
+            garment.setSize("M");
+            garment.setPrice(10.0 + i);
+            garment.setPublisher(publisher);
+            garments.add(garment);
+        }
+        garmentDto = new GarmentDto(null, "Jacket", "Warm jacket", "L", 60.0, null, null);
+        registration = new UserRegistrationDTO("user", "password", "Full Name", "Address");
+    }
+
+    @Benchmark
+    public List<GarmentDto> listingWithModelMapper() {
+        List<GarmentDto> result = new ArrayList<>(garments.size());
+        for (Garment garment : garments) {
+            result.add(modelMapper.map(garment, GarmentDto.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<GarmentDto> listingWithGarmentMapper() {
+        return garmentMapper.toDtos(garments);
+    }
+
+    @Benchmark
+    public Garment toEntityWithModelMapper() {
+        return modelMapper.map(garmentDto, Garment.class);
+    }
+
+    @Benchmark
+    public Garment toEntityWithGarmentMapper() {
+        return garmentMapper.toEntity(garmentDto);
+    }
+
+    @Benchmark
+    public User registrationWithModelMapper() {
+        return modelMapper.map(registration, User.class);
+    }
+
+    @Benchmark
+    public User registrationWithUserMapper() {
+        return userMapper.toEntity(registration);
+    }
+}
@@ -0,0 +1,112 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.secondhand.marketplace.search.GarmentPriceIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Type X between price A and B, cheapest first" over a synthetic catalog: the in-memory price index
+ * against the SQL that the equivalent JPA query runs on H2, using the (type, price) index.
+ * Hibernate's own per-row mapping comes on top of the SQL side in the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class GarmentPriceIndexBenchmark {
+
+    private static final String[] TYPES = {"Shirt", "Jeans", "Jacket", "Dress", "Sweater", "Coat", "Skirt", "Shoes"};
+    private static final int LIMIT = 20;
+
+    @Param({"1000000"})
+    public int garmentCount;
+
+    // Narrow and wide price ranges, in the 0..500 price spread of the catalog
+    @Param({"20-25", "0-500"})
+    public String priceRange;
+
+    private Connection connection;
+    private PreparedStatement rangeQuery;
+    private GarmentPriceIndex priceIndex;
+    private double minPrice;
+    private double maxPrice;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:price-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS garment");
+            statement.execute("CREATE TABLE garment (id BIGINT PRIMARY KEY, type VARCHAR(255), description VARCHAR(255), "
+                    + "size VARCHAR(255), price DOUBLE NOT NULL, user_id BIGINT, version BIGINT)");
+            statement.execute("CREATE INDEX idx_garment_type_price ON garment (type, price)");
+        }
+
+        priceIndex = new GarmentPriceIndex();
+        Random random = new Random(42);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO garment (id, type, description, size, price, user_id, version) VALUES (?, ?, ?, ?, ?, 1, 0)")) {
+            for (long id = 1; id <= garmentCount; id++) {
+                String type = TYPES[random.nextInt(TYPES.length)];
+                double price = Math.round(random.nextDouble() * 50_000) / 100.0;
+                insert.setLong(1, id);
+                insert.setString(2, type);
+                insert.setString(3, "Garment " + id);
+                insert.setString(4, "M");
+                insert.setDouble(5, price);
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+                priceIndex.index(id, type, price);
+            }
+            insert.executeBatch();
+        }
+
+        String[] bounds = priceRange.split("-");
+        minPrice = Double.parseDouble(bounds[0]);
+        maxPrice = Double.parseDouble(bounds[1]);
+        rangeQuery = connection.prepareStatement("SELECT id, type, description, size, price, user_id, version FROM garment "
+                + "WHERE type = ? AND price BETWEEN ? AND ? ORDER BY price, id LIMIT ?");
+        rangeQuery.setString(1, "Jacket");
+        rangeQuery.setDouble(2, minPrice);
+        rangeQuery.setDouble(3, maxPrice);
+        rangeQuery.setInt(4, LIMIT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        rangeQuery.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE garment");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> sqlRangeQuery() throws SQLException {
+        List<Long> ids = new ArrayList<>(LIMIT);
+        try (ResultSet resultSet = rangeQuery.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public List<Long> priceIndex() {
+        return priceIndex.findCheapest("Jacket", minPrice, maxPrice, LIMIT);
+    }
+}
@@ -0,0 +1,111 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.secondhand.marketplace.search.GarmentSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search over a synthetic catalog: the in-memory inverted index against a SQL LIKE scan on H2.
+ * Both sides have to look at every match, since results are ranked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class GarmentSearchBenchmark {
+
+    private static final String[] TYPES = {"Shirt", "Jeans", "Jacket", "Dress", "Sweater", "Coat", "Skirt", "Shoes"};
+    private static final String[] COLOURS = {"red", "blue", "black", "white", "green", "grey", "beige", "navy"};
+    private static final String[] MATERIALS = {"cotton", "denim", "wool", "linen", "leather", "silk", "cashmere", "polyester"};
+    private static final String[] CONDITIONS = {"like new", "barely worn", "vintage", "well loved", "with tags"};
+
+    @Param({"1000000"})
+    public int garmentCount;
+
+    @Param({"cashmere", "denim jacket"})
+    public String query;
+
+    private Connection connection;
+    private PreparedStatement likeQuery;
+    private GarmentSearchIndex searchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS garment");
+            statement.execute("CREATE TABLE garment (id BIGINT PRIMARY KEY, type VARCHAR(255), description VARCHAR(255))");
+        }
+
+        searchIndex = new GarmentSearchIndex();
+        Random random = new Random(42);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO garment (id, type, description) VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= garmentCount; id++) {
+                String type = TYPES[random.nextInt(TYPES.length)];
+                String description = COLOURS[random.nextInt(COLOURS.length)] + " "
+                        + MATERIALS[random.nextInt(MATERIALS.length)] + " " + type.toLowerCase() + ", "
+                        + CONDITIONS[random.nextInt(CONDITIONS.length)];
+                insert.setLong(1, id);
+                insert.setString(2, type);
+                insert.setString(3, description);
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+                searchIndex.index(id, type, description);
+            }
+            insert.executeBatch();
+        }
+
+        String[] terms = query.split(" ");
+        StringBuilder sql = new StringBuilder("SELECT id FROM garment WHERE ");
+        for (int i = 0; i < terms.length; i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("LOWER(type) LIKE ? OR LOWER(description) LIKE ?");
+        }
+        likeQuery = connection.prepareStatement(sql.toString());
+        for (int i = 0; i < terms.length; i++) {
+            likeQuery.setString(2 * i + 1, "%" + terms[i] + "%");
+            likeQuery.setString(2 * i + 2, "%" + terms[i] + "%");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        likeQuery.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE garment");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> sqlLike() throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet resultSet = likeQuery.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public List<Long> invertedIndex() {
+        return searchIndex.search(query, 20);
+    }
+}
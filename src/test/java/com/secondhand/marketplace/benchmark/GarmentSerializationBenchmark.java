@@ -0,0 +1,58 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.dto.View;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a listing page with the {@code View.Detailed} and {@code View.Summary} views.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GarmentSerializationBenchmark {
+
+    @Param({"20", "1000"})
+    public int listSize;
+
+    private ObjectWriter detailedWriter;
+    private ObjectWriter summaryWriter;
+    private List<GarmentDto> garmentDtos;
+
+    @Setup
+    public void setUp() {
+        // Same view handling as the ObjectMapper Spring Boot configures
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+                .build();
+        detailedWriter = objectMapper.writerWithView(View.Detailed.class);
+        summaryWriter = objectMapper.writerWithView(View.Summary.class);
+
+        garmentDtos = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            garmentDtos.add(new GarmentDto((long) i, "Shirt", "Cotton shirt number " + i, "M", 10.0 + i, 1L, 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] detailedView() throws JsonProcessingException {
+        return detailedWriter.writeValueAsBytes(garmentDtos);
+    }
+
+    @Benchmark
+    public byte[] summaryView() throws JsonProcessingException {
+        return summaryWriter.writeValueAsBytes(garmentDtos);
+    }
+}
@@ -0,0 +1,104 @@
+package com.secondhand.marketplace.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import com.secondhand.marketplace.repository.GarmentRepository;
+import com.secondhand.marketplace.search.GarmentPriceIndex;
+import com.secondhand.marketplace.search.GarmentSearchIndex;
+import com.secondhand.marketplace.service.GarmentService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The listing paths of {@link GarmentService} over an in-memory repository stub, so only the service
+ * and mapping work is measured: one keyset page, with and without a type, and the whole catalog
+ * walked page by page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GarmentServiceBenchmark {
+
+    private static final String[] TYPES = {"Shirt", "Jeans", "Jacket", "Dress"};
+
+    @Param({"10000"})
+    public int garmentCount;
+
+    private final GarmentMapper garmentMapper = new GarmentMapper();
+
+    private GarmentService garmentService;
+
+    @Setup
+    public void setUp() {
+        // The service logs every call at INFO; keep console I/O out of the measurement
+        ((Logger) LoggerFactory.getLogger(GarmentService.class)).setLevel(Level.WARN);
+
+        User publisher = new User();
+        publisher.setId(1L);
+
+        List<Garment> garments = new ArrayList<>(garmentCount);
+        for (int i = 0; i < garmentCount; i++) {
+            garments.add(new Garment((long) i + 1, TYPES[i % TYPES.length], "Garment number " + i, "M", 10.0 + i % 100, publisher, 0L));
+        }
+        List<GarmentDto> garmentDtos = garmentMapper.toDtos(garments);
+
+        garmentService = new GarmentService(stubRepository(garmentDtos), new GarmentSearchIndex(), new GarmentPriceIndex(), null, null, null);
+    }
+
+    @Benchmark
+    public Slice<GarmentDto> getGarmentPage() {
+        return garmentService.getGarmentPage(null, 100L, 20);
+    }
+
+    @Benchmark
+    public Slice<GarmentDto> getGarmentPageByType() {
+        return garmentService.getGarmentPage("Shirt", 100L, 20);
+    }
+
+    @Benchmark
+    public int walkAllPages() {
+        int count = 0;
+        Long cursor = null;
+        Slice<GarmentDto> page;
+        do {
+            page = garmentService.getGarmentPage(null, cursor, GarmentService.MAX_PAGE_SIZE);
+            count += page.getNumberOfElements();
+            cursor = page.getContent().isEmpty() ? cursor : page.getContent().get(page.getNumberOfElements() - 1).getId();
+        } while (page.hasNext());
+        return count;
+    }
+
+    private static GarmentRepository stubRepository(List<GarmentDto> garmentDtos) {
+        return (GarmentRepository) Proxy.newProxyInstance(GarmentRepository.class.getClassLoader(),
+                new Class<?>[]{GarmentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findPageAfter" -> pageAfter(garmentDtos, (Long) args[0], (Pageable) args[1]);
+                    case "findPageByTypeAfter" -> garmentDtos.stream()
+                            .filter(garmentDto -> garmentDto.getId() > (Long) args[1] && garmentDto.getType().equals(args[0]))
+                            .limit(((Pageable) args[2]).getPageSize())
+                            .toList();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // Ids are 1..n in list order, so the rows after an id start at that index
+    private static List<GarmentDto> pageAfter(List<GarmentDto> garmentDtos, long afterId, Pageable pageable) {
+        int from = (int) Math.min(afterId, garmentDtos.size());
+        int to = Math.min(from + pageable.getPageSize(), garmentDtos.size());
+        return new ArrayList<>(garmentDtos.subList(from, to));
+    }
+}
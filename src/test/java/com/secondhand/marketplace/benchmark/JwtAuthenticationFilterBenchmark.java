@@ -0,0 +1,141 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.filter.JwtAuthenticationFilter;
+import com.secondhand.marketplace.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter throughput before (a new parser per call, two parses and a user lookup per request) and after
+ * (one shared parser, one parse, principal built from the claims). The legacy user lookup is stubbed out,
+ * so the difference shown here excludes the database or cache round trip it used to cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private final User user = new User("benchmark-user", "password", "Benchmark User", "Address");
+    private final UserDetailsService userDetailsService = username -> user;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    private Key legacyKey;
+    private String legacyToken;
+    private LegacyJwtFilter legacyJwtFilter;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken(1L, user.getUsername());
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        filter.setMeterRegistry(new SimpleMeterRegistry());
+
+        legacyKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        legacyToken = Jwts.builder()
+                .setSubject(user.getUsername())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + jwtUtil.getExpirationTime()))
+                .signWith(legacyKey)
+                .compact();
+        legacyJwtFilter = new LegacyJwtFilter();
+    }
+
+    @Benchmark
+    public Object legacyFilter() throws ServletException, IOException {
+        return runFilter(legacyJwtFilter, legacyToken);
+    }
+
+    @Benchmark
+    public Object currentFilter() throws ServletException, IOException {
+        return runFilter(filter, token);
+    }
+
+    @Benchmark
+    public String legacyParse() {
+        return legacyExtractUsername(legacyToken);
+    }
+
+    @Benchmark
+    public Claims sharedParserParse() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    private Object runFilter(OncePerRequestFilter target, String jwt) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clothes/add");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        try {
+            target.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private String legacyExtractUsername(String jwt) {
+        return Jwts.parserBuilder().setSigningKey(legacyKey).build().parseClaimsJws(jwt).getBody().getSubject();
+    }
+
+    /**
+     * The filter as it was before the change: it extracted the username, then validated the token, and
+     * each step built a new parser and verified the token again.
+     */
+    private class LegacyJwtFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            String authorizationHeader = request.getHeader("Authorization");
+            String username = null;
+            String jwt = null;
+
+            if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+                jwt = authorizationHeader.substring(7);
+                username = legacyExtractUsername(jwt);
+            }
+
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (userDetails.getUsername().equals(legacyExtractUsername(jwt))) {
+                    var authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            }
+
+            chain.doFilter(request, response);
+        }
+    }
+}
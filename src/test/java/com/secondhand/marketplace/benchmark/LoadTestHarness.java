@@ -0,0 +1,187 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.dto.UserRegistrationDTO;
+import com.secondhand.marketplace.model.AuthRequest;
+import com.secondhand.marketplace.model.AuthResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for the {@code GarmentController} read endpoints, used to compare the
+ * default Tomcat thread pool with the {@code virtual-threads} profile. Start the application in one
+ * mode, run
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec [-Dloadtest.levels=50,200,800] [-Dloadtest.seconds=30]
+ * </pre>
+ * then restart it in the other mode and run it again.
+ * <p>
+ * The harness registers a user, seeds the catalog through the bulk endpoint and sends every request
+ * with a bearer token, so the JWT filter's user lookup is part of each measurement. For every
+ * concurrency level it prints throughput, p50/p99/max latency and the error count; the highest level
+ * whose p99 stays within budget without errors is the usable maximum concurrency.
+ */
+public final class LoadTestHarness {
+
+    private static final List<String> PATHS = List.of(
+            "/api/clothes?size=20",
+            "/api/clothes/filter?type=Shirt&sort=PRICE_ASC",
+            "/api/clothes/search?q=cotton+shirt");
+    private static final String[] TYPES = {"Shirt", "Jeans", "Jacket", "Dress"};
+    private static final String[] SIZES = {"S", "M", "L", "XL"};
+    private static final int SEED_GARMENTS = 2000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int[] levels = Arrays.stream((args.length > 1 ? args[1] : "50,100,200,400,800").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 20);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = authenticate(client, baseUrl);
+        seedCatalog(client, baseUrl, token);
+
+        // Warm-up, not reported
+        run(client, baseUrl, token, 10, Duration.ofSeconds(5));
+
+        System.out.printf("%-12s %10s %10s %10s %10s %8s%n", "concurrency", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (int level : levels) {
+            Result result = run(client, baseUrl, token, level, duration);
+            System.out.printf("%-12d %10.0f %10.2f %10.2f %10.2f %8d%n",
+                    level, result.throughput(), result.p50Millis(), result.p99Millis(), result.maxMillis(), result.errors());
+        }
+    }
+
+    private static String authenticate(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        String username = "loadtest-" + System.currentTimeMillis();
+        String password = "loadtest";
+        post(client, baseUrl + "/api/register", null,
+                new UserRegistrationDTO(username, password, "Load Test", "Nowhere"));
+        HttpResponse<String> response = post(client, baseUrl + "/api/authenticate", null,
+                new AuthRequest(username, password));
+        return objectMapper.readValue(response.body(), AuthResponse.class).getToken();
+    }
+
+    private static void seedCatalog(HttpClient client, String baseUrl, String token) throws IOException, InterruptedException {
+        List<GarmentDto> garments = new ArrayList<>(SEED_GARMENTS);
+        for (int i = 0; i < SEED_GARMENTS; i++) {
+            String type = TYPES[i % TYPES.length];
+            garments.add(new GarmentDto(null, type, "cotton " + type.toLowerCase() + " " + i,
+                    SIZES[i % SIZES.length], 5 + i % 200, null, null));
+        }
+        post(client, baseUrl + "/api/clothes/bulk", token, garments);
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String url, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("POST " + url + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private static Result run(HttpClient client, String baseUrl, String token, int concurrency, Duration duration)
+            throws Exception {
+        List<HttpRequest> requests = new ArrayList<>(PATHS.size());
+        for (String path : PATHS) {
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build());
+        }
+
+        AtomicLong errors = new AtomicLong();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int worker = 0; worker < concurrency; worker++) {
+            int offset = worker;
+            futures.add(workers.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                for (int i = offset; System.nanoTime() < deadline; i++) {
+                    HttpRequest request = requests.get(i % requests.size());
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - sent;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+        workers.shutdown();
+
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+        int total = 0;
+        for (Future<long[]> future : futures) {
+            long[] samples = future.get();
+            perWorker.add(samples);
+            total += samples.length;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = new long[total];
+        int position = 0;
+        for (long[] samples : perWorker) {
+            System.arraycopy(samples, 0, latencies, position, samples.length);
+            position += samples.length;
+        }
+        Arrays.sort(latencies);
+        return new Result(total / seconds, percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 1.0), errors.get());
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, double maxMillis, long errors) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.secondhand.marketplace.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.secondhand.marketplace.dto.GarmentDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of one log statement with the development pipeline (synchronous file appender,
+ * flushed per event) and the production one (bounded async queue feeding a JSON file appender), each
+ * with an id-only message and with a whole DTO formatted through {@code toString()}.
+ * <p>
+ * The async pipeline drops INFO events when its queue runs full, so its numbers are the cost seen by
+ * callers, not the rate at which lines reach the disk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    public enum Pipeline {
+        SYNC_PATTERN,
+        ASYNC_JSON
+    }
+
+    @Param({"SYNC_PATTERN", "ASYNC_JSON"})
+    public Pipeline pipeline;
+
+    private final GarmentDto garmentDto = new GarmentDto(42L, "Shirt", "Cotton shirt, barely worn", "M", 25.0, 7L, 0L);
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private Path logFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("marketplace-logging-benchmark", ".log");
+        loggerContext = new LoggerContext();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setFile(logFile.toString());
+
+        Appender<ILoggingEvent> appender;
+        if (pipeline == Pipeline.SYNC_PATTERN) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(loggerContext);
+            encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+            encoder.start();
+            fileAppender.setEncoder(encoder);
+            fileAppender.start();
+            appender = fileAppender;
+        } else {
+            // Same settings as the prod profile in logback-spring.xml
+            JsonEncoder encoder = new JsonEncoder();
+            encoder.setContext(loggerContext);
+            encoder.start();
+            fileAppender.setEncoder(encoder);
+            fileAppender.setImmediateFlush(false);
+            fileAppender.start();
+
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(1638);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        logger = loggerContext.getLogger("com.secondhand.marketplace.benchmark");
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        loggerContext.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void logId() {
+        logger.info("Fetched garment with id {}", garmentDto.getId());
+    }
+
+    @Benchmark
+    public void logDto() {
+        logger.info("Fetched garment with id {}: {}", garmentDto.getId(), garmentDto);
+    }
+}
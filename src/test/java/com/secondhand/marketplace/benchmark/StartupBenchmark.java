@@ -0,0 +1,107 @@
+package com.secondhand.marketplace.benchmark;
+
+import com.secondhand.marketplace.MarketplaceApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from {@code SpringApplication.run} to the first successful listing response, with the prod
+ * profile's file-backed H2 database holding {@code garmentCount} garments. Every fork is a fresh JVM
+ * and measures one cold start.
+ * <p>
+ * The database is built under {@code target/startup-benchmark} on first use and reused afterwards.
+ * The fork that builds it starts from a warmer JVM, so prepare it with a throwaway run first or
+ * discard that fork's result. For the full-size catalog pass {@code -p garmentCount=10000000}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"1000000"})
+    public int garmentCount;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Path dataDirectory;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void prepareDatabase() throws Exception {
+        dataDirectory = Path.of("target", "startup-benchmark", String.valueOf(garmentCount)).toAbsolutePath();
+        if (Files.exists(dataDirectory.resolve("marketplace.mv.db"))) {
+            return;
+        }
+        Files.createDirectories(dataDirectory);
+
+        // Let Hibernate create the schema, then load the catalog with one set-based insert
+        try (ConfigurableApplicationContext schemaContext = start();
+             Connection connection = schemaContext.getBean(DataSource.class).getConnection()) {
+            long publisherId;
+            try (PreparedStatement insertUser = connection.prepareStatement(
+                    "INSERT INTO user_app (username, password, full_name, address) VALUES ('seller', 'x', 'Seller', 'Somewhere')",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                insertUser.executeUpdate();
+                try (ResultSet keys = insertUser.getGeneratedKeys()) {
+                    keys.next();
+                    publisherId = keys.getLong(1);
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO garment (id, type, description, size, price, user_id, version) "
+                        + "SELECT X, CASE MOD(X, 4) WHEN 0 THEN 'Shirt' WHEN 1 THEN 'Jeans' WHEN 2 THEN 'Jacket' ELSE 'Dress' END, "
+                        + "CONCAT('Second-hand garment number ', X), CASE MOD(X, 3) WHEN 0 THEN 'S' WHEN 1 THEN 'M' ELSE 'L' END, "
+                        + "5 + MOD(X, 200), " + publisherId + ", 0 FROM SYSTEM_RANGE(1, " + garmentCount + ")");
+                statement.execute("ALTER SEQUENCE garment_seq RESTART WITH " + (garmentCount + 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        context = start();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/clothes?size=20")).build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("First request returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(MarketplaceApplication.class)
+                .profiles("prod")
+                .properties("server.port=0",
+                        "marketplace.data-dir=" + dataDirectory,
+                        "logging.level.root=WARN",
+                        "logging.level.com.secondhand.marketplace=WARN")
+                .run();
+    }
+}
@@ -1,5 +1,6 @@
 package com.secondhand.marketplace.controller;
 
+import com.secondhand.marketplace.entity.User;
 import com.secondhand.marketplace.model.AuthRequest;
 import com.secondhand.marketplace.model.AuthResponse;
 import com.secondhand.marketplace.utils.JwtUtil;
@@ -40,8 +41,12 @@ public class AuthControllerTest {
         String token = "testToken";
         long expirationTime = 3600L;
 
+        User user = new User(authRequest.getUsername(), "password", "Test User", "Address");
+        user.setId(5L);
+
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
-        when(jwtUtil.generateToken(authRequest.getUsername())).thenReturn(token);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(jwtUtil.generateToken(5L, authRequest.getUsername())).thenReturn(token);
         when(jwtUtil.getExpirationTime()).thenReturn(expirationTime);
 
         ResponseEntity<AuthResponse> response = authController.authenticate(authRequest);
@@ -1,25 +1,52 @@
 package com.secondhand.marketplace.controller;
 
+import com.secondhand.marketplace.dto.BulkPublishResultDto;
+import com.secondhand.marketplace.dto.BulkUnpublishResultDto;
 import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.dto.GarmentFilterResultDto;
+import com.secondhand.marketplace.dto.GarmentPageDto;
 import com.secondhand.marketplace.entity.Garment;
-import com.secondhand.marketplace.entity.User;
 import com.secondhand.marketplace.exceptions.GarmentNotFoundException;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import com.secondhand.marketplace.model.BulkUnpublishRequest;
+import com.secondhand.marketplace.model.GarmentFacets;
+import com.secondhand.marketplace.model.GarmentFilter;
+import com.secondhand.marketplace.model.GarmentPatch;
+import com.secondhand.marketplace.model.GarmentSort;
+import com.secondhand.marketplace.service.GarmentDetailCache;
+import com.secondhand.marketplace.service.GarmentDetailCache.CachedGarment;
 import com.secondhand.marketplace.service.GarmentService;
+import com.secondhand.marketplace.utils.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
 
 @ExtendWith(MockitoExtension.class)
 public class GarmentControllerTest {
@@ -31,60 +58,224 @@ public class GarmentControllerTest {
     private GarmentService garmentService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private GarmentMapper garmentMapper;
+
+    @Mock
+    private GarmentDetailCache garmentDetailCache;
 
 
 
     @Test
     public void testGetAllClothes_NoType_ReturnsGarments() {
-        Garment garment = new Garment();
         GarmentDto garmentDto = new GarmentDto();
 
-        when(garmentService.getAllGarments(null)).thenReturn(Collections.singletonList(garment));
-        when(modelMapper.map(garment, GarmentDto.class)).thenReturn(garmentDto);
+        when(garmentService.getGarmentPage(null, null, 20))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(garmentDto), PageRequest.ofSize(20), false));
 
-        ResponseEntity<List<GarmentDto>> response = garmentController.getAllClothes(null);
+        ResponseEntity<GarmentPageDto> response = garmentController.getAllClothes(null, null, 20, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().size());
-        verify(garmentService, times(1)).getAllGarments(null);
+        assertEquals(1, response.getBody().getItems().size());
+        assertNull(response.getBody().getNextCursor());
+        verify(garmentService, times(1)).getGarmentPage(null, null, 20);
     }
 
     @Test
-    public void testGetClothingItem_ValidId_ReturnsGarment() throws GarmentNotFoundException {
-        Long garmentId = 1L;
+    public void testGetAllClothes_WithCursor_ReturnsNextCursor() {
+        GarmentDto garmentDto = new GarmentDto();
+        garmentDto.setId(42L);
+
+        when(garmentService.getGarmentPage("Shirt", 41L, 1))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(garmentDto), PageRequest.ofSize(1), true));
+
+        ResponseEntity<GarmentPageDto> response = garmentController.getAllClothes("Shirt", PageCursor.encode(41L), 1, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(PageCursor.encode(42L), response.getBody().getNextCursor());
+        verify(garmentService, times(1)).getGarmentPage("Shirt", 41L, 1);
+    }
+
+    @Test
+    public void testGetAllClothes_TaggedWithCatalogVersion() {
+        when(garmentService.getCatalogVersion()).thenReturn(3L);
+        when(garmentService.getGarmentPage(null, null, 20))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.ofSize(20), false));
+
+        ResponseEntity<GarmentPageDto> response = garmentController.getAllClothes(null, null, 20, null);
+
+        String etag = response.getHeaders().getETag();
+        assertTrue(etag.startsWith("W/\""));
+        assertTrue(etag.endsWith("-3\""));
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    public void testGetAllClothes_UnchangedCatalog_NotModified() {
+        when(garmentService.getCatalogVersion()).thenReturn(3L);
+        when(garmentService.getGarmentPage(null, null, 20))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.ofSize(20), false));
+        String etag = garmentController.getAllClothes(null, null, 20, null).getHeaders().getETag();
+
+        ResponseEntity<GarmentPageDto> response = garmentController.getAllClothes(null, null, 20, etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(garmentService, times(1)).getGarmentPage(null, null, 20);
+    }
+
+    @Test
+    public void testGetAllClothes_CatalogChanged_ReturnsPage() {
+        when(garmentService.getCatalogVersion()).thenReturn(3L, 4L);
+        when(garmentService.getGarmentPage(null, null, 20))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.ofSize(20), false));
+        String etag = garmentController.getAllClothes(null, null, 20, null).getHeaders().getETag();
+
+        ResponseEntity<GarmentPageDto> response = garmentController.getAllClothes(null, null, 20, etag);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(garmentService, times(2)).getGarmentPage(null, null, 20);
+    }
+
+    @Test
+    public void testFilterClothes_UnchangedCatalog_NotModified() {
+        when(garmentService.getCatalogVersion()).thenReturn(5L);
+        // All listings are tagged with the same catalog version
+        String etag = garmentController.searchClothes("denim", 20, null).getHeaders().getETag();
+
+        ResponseEntity<GarmentFilterResultDto> response = garmentController.filterClothes(
+                List.of("Shirt"), null, null, null, GarmentSort.NEWEST, 0, 20, etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(garmentService, never()).filterGarments(any(), anyInt(), anyInt());
+        verify(garmentService, never()).countFacets(any());
+    }
+
+    @Test
+    public void testFilterClothes_ReturnsItemsAndFacets() {
         Garment garment = new Garment();
         GarmentDto garmentDto = new GarmentDto();
+        GarmentFilter filter = new GarmentFilter(List.of("Shirt"), List.of("M"), 5.0, 50.0, GarmentSort.PRICE_ASC);
+
+        when(garmentService.filterGarments(filter, 0, 20))
+                .thenReturn(new PageImpl<>(List.of(garment), PageRequest.of(0, 20), 1));
+        when(garmentService.countFacets(filter))
+                .thenReturn(new GarmentFacets(Map.of("Shirt", 1L, "Jacket", 4L), Map.of("M", 1L)));
+        when(garmentMapper.toDtos(List.of(garment))).thenReturn(List.of(garmentDto));
+
+        ResponseEntity<GarmentFilterResultDto> response = garmentController.filterClothes(
+                List.of("Shirt"), List.of("M"), 5.0, 50.0, GarmentSort.PRICE_ASC, 0, 20, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(garmentDto), response.getBody().getItems());
+        assertEquals(1L, response.getBody().getTotalElements());
+        assertEquals(4L, response.getBody().getTypeFacets().get("Jacket"));
+        assertEquals(1L, response.getBody().getSizeFacets().get("M"));
+    }
+
+    @Test
+    public void testFilterClothes_InvalidParameters_Return400() throws Exception {
+        MockMvc mockMvc = standaloneSetup(garmentController).build();
+
+        mockMvc.perform(get("/api/clothes/filter").param("sort", "cheap"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/clothes/filter").param("minPrice", "x"))
+                .andExpect(status().isBadRequest());
+        verify(garmentService, never()).filterGarments(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testFilterClothes_GarmentSizeAndPageSizeParameters() throws Exception {
+        MockMvc mockMvc = standaloneSetup(garmentController).build();
+        GarmentFilter filter = new GarmentFilter(null, List.of("M", "L"), null, null, GarmentSort.NEWEST);
+
+        when(garmentService.filterGarments(filter, 0, 5))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 5), 0));
+        when(garmentService.countFacets(filter))
+                .thenReturn(new GarmentFacets(Map.of(), Map.of()));
+
+        mockMvc.perform(get("/api/clothes/filter")
+                        .param("garmentSize", "M", "L")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+        verify(garmentService, times(1)).filterGarments(filter, 0, 5);
+    }
+
+    @Test
+    public void testSearchClothes_ReturnsRankedGarments() {
+        List<GarmentDto> results = List.of(new GarmentDto(2L, "Jacket", "Denim jacket", "L", 40.0, 1L, 0L));
+        when(garmentService.searchGarments("denim", 20)).thenReturn(results);
+
+        ResponseEntity<List<GarmentDto>> response = garmentController.searchClothes("denim", 20, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    public void testGetClothingItem_ValidId_ReturnsCachedJsonWithETag() throws Exception {
+        Long garmentId = 1L;
+        byte[] json = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        CachedGarment cachedGarment = new CachedGarment(json, "\"abc\"");
+
+        when(garmentDetailCache.get(garmentId)).thenReturn(cachedGarment);
+
+        ResponseEntity<byte[]> response = garmentController.getClothingItem(garmentId, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(json, response.getBody());
+        assertEquals("\"abc\"", response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        verify(garmentDetailCache, times(1)).get(garmentId);
+        verifyNoInteractions(garmentService);
+    }
+
+    @Test
+    public void testGetClothingItem_MatchingETag_ReturnsNotModified() throws Exception {
+        Long garmentId = 1L;
+        CachedGarment cachedGarment = new CachedGarment(new byte[]{'{', '}'}, "\"abc\"");
+
+        when(garmentDetailCache.get(garmentId)).thenReturn(cachedGarment);
+
+        ResponseEntity<byte[]> response = garmentController.getClothingItem(garmentId, "\"xyz\", W/\"abc\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"abc\"", response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
 
-        when(garmentService.getGarmentById(garmentId)).thenReturn(garment);
-        when(modelMapper.map(garment, GarmentDto.class)).thenReturn(garmentDto);
+    @Test
+    public void testGetClothingItem_StaleETag_ReturnsBody() throws Exception {
+        Long garmentId = 1L;
+        CachedGarment cachedGarment = new CachedGarment(new byte[]{'{', '}'}, "\"abc\"");
 
-        ResponseEntity<GarmentDto> response = garmentController.getClothingItem(garmentId);
+        when(garmentDetailCache.get(garmentId)).thenReturn(cachedGarment);
+
+        ResponseEntity<byte[]> response = garmentController.getClothingItem(garmentId, "\"old\"");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(garmentDto, response.getBody());
-        verify(garmentService, times(1)).getGarmentById(garmentId);
+        assertArrayEquals(cachedGarment.json(), response.getBody());
     }
 
     @Test
     public void testPublishGarment_AuthenticatedUser_Success() {
-        User currentUser = new User();
-        currentUser.setUsername("testUser");
+        AuthenticatedUser currentUser = new AuthenticatedUser(1L, "testUser");
 
         GarmentDto garmentDto = new GarmentDto();
         Garment garment = new Garment();
         Garment savedGarment = new Garment();
         GarmentDto savedGarmentDto = new GarmentDto();
 
-        when(modelMapper.map(garmentDto, Garment.class)).thenReturn(garment);
-        when(garmentService.publishGarment(garment)).thenReturn(savedGarment);
-        when(modelMapper.map(savedGarment, GarmentDto.class)).thenReturn(savedGarmentDto);
+        when(garmentMapper.toEntity(garmentDto)).thenReturn(garment);
+        when(garmentService.publishGarment(garment, currentUser)).thenReturn(savedGarment);
+        when(garmentMapper.toDto(savedGarment)).thenReturn(savedGarmentDto);
 
         ResponseEntity<GarmentDto> response = garmentController.publishGarment(garmentDto, currentUser);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(savedGarmentDto, response.getBody());
-        verify(garmentService, times(1)).publishGarment(garment);
+        verify(garmentService, times(1)).publishGarment(garment, currentUser);
     }
 
     @Test
@@ -96,20 +287,49 @@ public class GarmentControllerTest {
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
     }
 
+    @Test
+    public void testBulkPublish_AuthenticatedUser_ReturnsResults() {
+        AuthenticatedUser currentUser = new AuthenticatedUser(1L, "testUser");
+
+        GarmentDto garmentDto = new GarmentDto();
+        Garment garment = new Garment();
+        List<BulkPublishResultDto> results = List.of(
+                new BulkPublishResultDto(0, 10L, BulkPublishResultDto.Status.CREATED, null),
+                new BulkPublishResultDto(1, null, BulkPublishResultDto.Status.REJECTED, "Garment is missing"));
+
+        when(garmentMapper.toEntity(garmentDto)).thenReturn(garment);
+        when(garmentService.bulkPublish(Arrays.asList(garment, null), currentUser)).thenReturn(results);
+
+        ResponseEntity<List<BulkPublishResultDto>> response =
+                garmentController.bulkPublish(Arrays.asList(garmentDto, null), currentUser);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+        verify(garmentMapper, times(1)).toEntity(garmentDto);
+    }
+
+    @Test
+    public void testBulkPublish_NoAuthenticatedUser_Unauthorized() {
+        ResponseEntity<List<BulkPublishResultDto>> response =
+                garmentController.bulkPublish(List.of(new GarmentDto()), null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(garmentService);
+    }
+
     @Test
     public void testUpdateGarment_AuthenticatedUser_Success() throws GarmentNotFoundException {
         Long garmentId = 1L;
-        User currentUser = new User();
-        currentUser.setUsername("testUser");
+        AuthenticatedUser currentUser = new AuthenticatedUser(1L, "testUser");
 
         GarmentDto garmentDto = new GarmentDto();
         Garment garment = new Garment();
         Garment updatedGarment = new Garment();
         GarmentDto updatedGarmentDto = new GarmentDto();
 
-        when(modelMapper.map(garmentDto, Garment.class)).thenReturn(garment);
+        when(garmentMapper.toUpdateEntity(garmentDto)).thenReturn(garment);
         when(garmentService.updateGarment(garmentId, garment, currentUser)).thenReturn(updatedGarment);
-        when(modelMapper.map(updatedGarment, GarmentDto.class)).thenReturn(updatedGarmentDto);
+        when(garmentMapper.toDto(updatedGarment)).thenReturn(updatedGarmentDto);
 
         ResponseEntity<GarmentDto> response = garmentController.updateGarment(garmentId, garmentDto, currentUser);
 
@@ -118,18 +338,45 @@ public class GarmentControllerTest {
         verify(garmentService, times(1)).updateGarment(garmentId, garment, currentUser);
     }
 
+    @Test
+    public void testPatchGarment_AuthenticatedUser_NoContent() throws GarmentNotFoundException {
+        AuthenticatedUser currentUser = new AuthenticatedUser(1L, "testUser");
+        GarmentPatch patch = new GarmentPatch(null, null, null, 15.0, 2L);
+
+        when(garmentService.patchGarment(1L, patch, currentUser)).thenReturn(3L);
+
+        ResponseEntity<Void> response = garmentController.patchGarment(1L, patch, currentUser);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(garmentService, times(1)).patchGarment(1L, patch, currentUser);
+    }
+
+    @Test
+    public void testPatchGarment_NoAuthenticatedUser_Unauthorized() throws GarmentNotFoundException {
+        ResponseEntity<Void> response = garmentController.patchGarment(1L, new GarmentPatch(), null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(garmentService);
+    }
+
+    @Test
+    public void testHandleConcurrencyFailure_ReturnsConflict() {
+        ResponseEntity<String> response = garmentController.handleConcurrencyFailure(
+                new ObjectOptimisticLockingFailureException(Garment.class, 1L));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
     @Test
     public void testUnpublishGarment_AuthenticatedUser_Success() throws GarmentNotFoundException {
         Long garmentId = 1L;
-        User currentUser = new User();
-        currentUser.setUsername("testUser");
+        AuthenticatedUser currentUser = new AuthenticatedUser(1L, "testUser");
 
         doNothing().when(garmentService).unpublishGarment(garmentId, currentUser);
 
-        ResponseEntity<String> response = garmentController.unpublishGarment(garmentId, currentUser);
+        ResponseEntity<Void> response = garmentController.unpublishGarment(garmentId, currentUser);
 
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals("Garment with id 1 was deleted", response.getBody());
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(garmentService, times(1)).unpublishGarment(garmentId, currentUser);
     }
 
@@ -137,8 +384,65 @@ public class GarmentControllerTest {
     public void testUnpublishGarment_NoAuthenticatedUser_Unauthorized() throws GarmentNotFoundException {
         Long garmentId = 1L;
 
-        ResponseEntity<String> response = garmentController.unpublishGarment(garmentId, null);
+        ResponseEntity<Void> response = garmentController.unpublishGarment(garmentId, null);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+
+    @Test
+    public void testGetCheapestClothes_ReturnsServiceResults() {
+        List<GarmentDto> garmentDtos = List.of(new GarmentDto(), new GarmentDto());
+
+        when(garmentService.getCheapestGarments("Shirt", 10.0, null, 20)).thenReturn(garmentDtos);
+
+        ResponseEntity<List<GarmentDto>> response = garmentController.getCheapestClothes("Shirt", 10.0, null, 20, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(garmentDtos, response.getBody());
+    }
+
+    @Test
+    public void testBulkUnpublish_ByIds_ReturnsRemovedCount() {
+        AuthenticatedUser currentUser = new AuthenticatedUser(1L, "testUser");
+        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+
+        when(garmentService.bulkUnpublish(ids, currentUser)).thenReturn(2L);
+
+        ResponseEntity<BulkUnpublishResultDto> response = garmentController.bulkUnpublish(new BulkUnpublishRequest(ids, false), currentUser);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2L, response.getBody().getRemoved());
+        verify(garmentService, never()).unpublishAll(any());
+    }
+
+    @Test
+    public void testBulkUnpublish_All_ReturnsRemovedCount() {
+        AuthenticatedUser currentUser = new AuthenticatedUser(1L, "testUser");
+
+        when(garmentService.unpublishAll(currentUser)).thenReturn(50_000L);
+
+        ResponseEntity<BulkUnpublishResultDto> response = garmentController.bulkUnpublish(new BulkUnpublishRequest(null, true), currentUser);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(50_000L, response.getBody().getRemoved());
+    }
+
+    @Test
+    public void testBulkUnpublish_IdsAndAll_BadRequest() {
+        AuthenticatedUser currentUser = new AuthenticatedUser(1L, "testUser");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentController.bulkUnpublish(new BulkUnpublishRequest(List.of(1L), true), currentUser));
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentController.bulkUnpublish(new BulkUnpublishRequest(null, false), currentUser));
+        verifyNoInteractions(garmentService);
+    }
+
+    @Test
+    public void testBulkUnpublish_NoAuthenticatedUser_Unauthorized() {
+        ResponseEntity<BulkUnpublishResultDto> response = garmentController.bulkUnpublish(new BulkUnpublishRequest(null, true), null);
 
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(garmentService);
     }
 }
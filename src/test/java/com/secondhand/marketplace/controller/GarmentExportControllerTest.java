@@ -0,0 +1,46 @@
+package com.secondhand.marketplace.controller;
+
+import com.secondhand.marketplace.service.GarmentExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GarmentExportControllerTest {
+
+    private GarmentExportController garmentExportController;
+
+    @Mock
+    private GarmentExportService garmentExportService;
+
+    @BeforeEach
+    public void setUp() {
+        garmentExportController = new GarmentExportController(
+                garmentExportService, new SyncTaskExecutor(), Duration.ofMinutes(30));
+    }
+
+    @Test
+    public void testExportClothes_StreamsThroughServiceWithExportTimeout() throws IOException {
+        ResponseEntity<ResponseBodyEmitter> response = garmentExportController.exportClothes();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(Duration.ofMinutes(30).toMillis(), response.getBody().getTimeout());
+        verify(garmentExportService, times(1)).exportGarments(any(OutputStream.class));
+    }
+}
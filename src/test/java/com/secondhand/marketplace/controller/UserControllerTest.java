@@ -2,6 +2,10 @@ package com.secondhand.marketplace.controller;
 
 import com.secondhand.marketplace.dto.UserRegistrationDTO;
 import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.exceptions.UsernameAlreadyExistsException;
+import com.secondhand.marketplace.mapper.UserMapper;
+import com.secondhand.marketplace.service.RegistrationCache;
+import com.secondhand.marketplace.service.RegistrationCache.RegisteredUser;
 import com.secondhand.marketplace.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,7 +13,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -31,7 +34,10 @@ public class UserControllerTest {
     private UserService userService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @Mock
+    private RegistrationCache registrationCache;
 
     @InjectMocks
     private UserController userController;
@@ -46,7 +52,7 @@ public class UserControllerTest {
         UserRegistrationDTO userDto = new UserRegistrationDTO("user", "password", "Full Name", "Address");
         User user = new User("user", "password", "Full Name", "Address");
 
-        when(modelMapper.map(any(UserRegistrationDTO.class), any())).thenReturn(user);
+        when(userMapper.toEntity(any(UserRegistrationDTO.class))).thenReturn(user);
         when(userService.registerUser(user)).thenReturn(user);
 
         mockMvc.perform(post("/api/register")
@@ -61,7 +67,7 @@ public class UserControllerTest {
         UserRegistrationDTO userDto = new UserRegistrationDTO("user", "password", "Full Name", "Address");
         User user = new User();
 
-        when(modelMapper.map(any(UserRegistrationDTO.class), any())).thenReturn(user);
+        when(userMapper.toEntity(any(UserRegistrationDTO.class))).thenReturn(user);
         doThrow(new RuntimeException("User registration failed")).when(userService).registerUser(user);
         mockMvc.perform(post("/api/register")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -69,4 +75,47 @@ public class UserControllerTest {
                 .andExpect(status().is5xxServerError()) // Expect OK if successful
                 .andExpect(content().string("User registration failed"));
     }
+
+    @Test
+    public void registerUser_shouldReturnConflict_whenUsernameIsTaken() throws Exception {
+        User user = new User("user", "password", "Full Name", "Address");
+
+        when(userMapper.toEntity(any(UserRegistrationDTO.class))).thenReturn(user);
+        doThrow(new UsernameAlreadyExistsException("User with username user already exists")).when(userService).registerUser(user);
+        mockMvc.perform(post("/api/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user\",\"password\":\"password\",\"fullName\":\"Full Name\",\"address\":\"Address\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("User with username user already exists"));
+    }
+
+    @Test
+    public void registerUser_withIdempotencyKey_shouldRegisterThroughCache() throws Exception {
+        User user = new User("user", "password", "Full Name", "Address");
+
+        when(userMapper.toEntity(any(UserRegistrationDTO.class))).thenReturn(user);
+        when(registrationCache.register("key-1", user)).thenReturn(new RegisteredUser(1L, "user"));
+
+        mockMvc.perform(post("/api/register")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user\",\"password\":\"password\",\"fullName\":\"Full Name\",\"address\":\"Address\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("User registered successfully"));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void registerUser_withIdempotencyKeyOfAnotherUser_shouldReturnUnprocessableEntity() throws Exception {
+        User user = new User("user", "password", "Full Name", "Address");
+
+        when(userMapper.toEntity(any(UserRegistrationDTO.class))).thenReturn(user);
+        when(registrationCache.register("key-1", user)).thenReturn(new RegisteredUser(1L, "someone-else"));
+
+        mockMvc.perform(post("/api/register")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user\",\"password\":\"password\",\"fullName\":\"Full Name\",\"address\":\"Address\"}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
 }
@@ -0,0 +1,75 @@
+package com.secondhand.marketplace.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The filter as wired by the application context, with the default limits (20 attempts per IP and
+ * 5 per username a minute).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class AuthRateLimitFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    public void testAuthenticate_TooManyAttemptsForUsername_Returns429() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            int status = mockMvc.perform(login("rate-limited-user")).andReturn().getResponse().getStatus();
+            assertNotEquals(429, status);
+        }
+
+        mockMvc.perform(login("rate-limited-user"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    public void testAuthenticate_ThroughTrustedProxy_LimitsPerForwardedClient() throws Exception {
+        // The test client connects from loopback, which Tomcat trusts as a proxy by default
+        for (int i = 0; i < 20; i++) {
+            assertNotEquals(429, forwardedLogin("proxied-user-" + i, "203.0.113.1"));
+        }
+
+        assertEquals(429, forwardedLogin("proxied-user-20", "203.0.113.1"));
+        assertNotEquals(429, forwardedLogin("proxied-user-21", "203.0.113.2"));
+    }
+
+    private int forwardedLogin(String username, String clientIp) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + AuthRateLimitFilter.AUTHENTICATE_PATH))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Forwarded-For", clientIp)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\"wrong\"}"))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static MockHttpServletRequestBuilder login(String username) {
+        return post(AuthRateLimitFilter.AUTHENTICATE_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"wrong\"}");
+    }
+}
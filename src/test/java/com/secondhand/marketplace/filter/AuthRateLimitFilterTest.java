@@ -0,0 +1,147 @@
+package com.secondhand.marketplace.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secondhand.marketplace.utils.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthRateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AuthRateLimitFilter(true,
+                new TokenBucketRateLimiter(10, Duration.ofMinutes(1), 1000, Duration.ofMinutes(10)),
+                new TokenBucketRateLimiter(3, Duration.ofMinutes(1), 1000, Duration.ofMinutes(10)),
+                new ObjectMapper());
+        filter.setMeterRegistry(meterRegistry);
+    }
+
+    @Test
+    public void testDoFilter_UnderLimit_PassesBodyThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = runFilter(login("alice", "10.0.0.1"), chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals("{\"username\":\"alice\",\"password\":\"secret\"}", body);
+    }
+
+    @Test
+    public void testDoFilter_TooManyAttemptsForUsername_Returns429() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, runFilter(login("alice", "10.0.0." + i), new MockFilterChain()).getStatus());
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = runFilter(login("Alice", "10.0.0.9"), chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("20", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("marketplace.auth.throttled").tag("key", "username").counter().count());
+    }
+
+    @Test
+    public void testDoFilter_TooManyAttemptsFromIp_Returns429() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, runFilter(login("user" + i, "10.0.0.1"), new MockFilterChain()).getStatus());
+        }
+
+        MockHttpServletResponse response = runFilter(login("someone-else", "10.0.0.1"), new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("marketplace.auth.throttled").tag("key", "ip").counter().count());
+    }
+
+    @Test
+    public void testDoFilter_OversizeBody_Returns413() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            runFilter(login("alice", "10.0.0." + i), new MockFilterChain());
+        }
+        // Padding past the read limit must not get around the per-username limit
+        MockHttpServletRequest request = login("alice", "10.0.0.9");
+        String padded = "{\"username\":\"alice\",\"password\":\"secret\"" + " ".repeat(AuthRateLimitFilter.MAX_BODY_BYTES) + "}";
+        request.setContent(padded.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = runFilter(request, chain);
+
+        assertEquals(413, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    public void testDoFilter_ReplayedBody_NotifiesReadListener() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        runFilter(login("alice", "10.0.0.1"), chain);
+        ServletInputStream input = chain.getRequest().getInputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data:" + new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data:{\"username\":\"alice\",\"password\":\"secret\"}", "done"), events);
+        assertTrue(input.isFinished());
+    }
+
+    @Test
+    public void testDoFilter_OtherEndpoints_NotLimited() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/register");
+            request.setServletPath("/api/register");
+            request.setRemoteAddr("10.0.0.1");
+
+            assertEquals(200, runFilter(request, new MockFilterChain()).getStatus());
+        }
+    }
+
+    private static MockHttpServletRequest login(String username, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", AuthRateLimitFilter.AUTHENTICATE_PATH);
+        request.setServletPath(AuthRateLimitFilter.AUTHENTICATE_PATH);
+        request.setRemoteAddr(remoteAddr);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse runFilter(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
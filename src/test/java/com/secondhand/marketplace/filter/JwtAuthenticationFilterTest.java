@@ -0,0 +1,60 @@
+package com.secondhand.marketplace.filter;
+
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import com.secondhand.marketplace.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        filter.setMeterRegistry(new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testDoFilter_ValidToken_SetsPrincipalFromClaims() throws Exception {
+        Authentication authentication = runFilter(jwtUtil.generateToken(5L, "testUser"));
+
+        assertNotNull(authentication);
+        assertEquals(new AuthenticatedUser(5L, "testUser"), authentication.getPrincipal());
+        assertEquals("testUser", authentication.getName());
+    }
+
+    @Test
+    public void testDoFilter_TokenWithoutUserId_NotAuthenticated() throws Exception {
+        assertNull(runFilter(jwtUtil.generateToken(null, "testUser")));
+    }
+
+    @Test
+    public void testDoFilter_InvalidToken_NotAuthenticated() throws Exception {
+        assertNull(runFilter("not-a-token"));
+    }
+
+    private Authentication runFilter(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/clothes/add");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,109 @@
+package com.secondhand.marketplace.mapper;
+
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.utils.StringDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GarmentMapperTest {
+
+    private final GarmentMapper garmentMapper = new GarmentMapper();
+
+    private Garment garment;
+
+    @BeforeEach
+    public void setUp() {
+        User publisher = new User();
+        publisher.setId(7L);
+
+        garment = new Garment();
+        garment.setId(1L);
+        garment.setType("Shirt");
+        garment.setDescription("Nice shirt");
+        garment.setSize("M");
+        garment.setPrice(25.0);
+        garment.setPublisher(publisher);
+        garment.setVersion(2L);
+    }
+
+    @Test
+    public void testToDto_CopiesAllFields() {
+        GarmentDto garmentDto = garmentMapper.toDto(garment);
+
+        assertEquals(1L, garmentDto.getId());
+        assertEquals("Shirt", garmentDto.getType());
+        assertEquals("Nice shirt", garmentDto.getDescription());
+        assertEquals("M", garmentDto.getSize());
+        assertEquals(25.0, garmentDto.getPrice());
+        assertEquals(7L, garmentDto.getPublisherId());
+        assertEquals(2L, garmentDto.getVersion());
+    }
+
+    @Test
+    public void testToDto_WithoutPublisher() {
+        garment.setPublisher(null);
+
+        assertNull(garmentMapper.toDto(garment).getPublisherId());
+    }
+
+    @Test
+    public void testToDtos_PreservesOrder() {
+        Garment other = new Garment();
+        other.setId(2L);
+
+        List<GarmentDto> garmentDtos = garmentMapper.toDtos(List.of(garment, other));
+
+        assertEquals(2, garmentDtos.size());
+        assertEquals(1L, garmentDtos.get(0).getId());
+        assertEquals(2L, garmentDtos.get(1).getId());
+    }
+
+    @Test
+    public void testToEntity_IgnoresIdAndPublisher() {
+        GarmentDto garmentDto = new GarmentDto(99L, "Jacket", "Warm", "L", 60.0, 42L, 3L);
+
+        Garment result = garmentMapper.toEntity(garmentDto);
+
+        assertNull(result.getId());
+        assertNull(result.getPublisher());
+        assertEquals("Jacket", result.getType());
+        assertEquals("Warm", result.getDescription());
+        assertEquals("L", result.getSize());
+        assertEquals(60.0, result.getPrice());
+        // A new garment must not start at a client-chosen version
+        assertNull(result.getVersion());
+    }
+
+    @Test
+    public void testToUpdateEntity_CopiesVersion() {
+        GarmentDto garmentDto = new GarmentDto(99L, "Jacket", "Warm", "L", 60.0, 42L, 3L);
+
+        Garment result = garmentMapper.toUpdateEntity(garmentDto);
+
+        assertNull(result.getId());
+        assertNull(result.getPublisher());
+        assertEquals("Jacket", result.getType());
+        assertEquals(60.0, result.getPrice());
+        assertEquals(3L, result.getVersion());
+    }
+
+    @Test
+    public void testToEntity_KeepsRequestStringsOutOfTheSharedDictionary() {
+        int dictionarySize = StringDictionary.GARMENT_ATTRIBUTES.size();
+        String type = "type-" + UUID.randomUUID();
+        String size = "size-" + UUID.randomUUID();
+
+        Garment entity = garmentMapper.toEntity(new GarmentDto(null, type, "Warm", size, 60.0, null, null));
+
+        assertSame(type, entity.getType());
+        assertSame(size, entity.getSize());
+        assertEquals(dictionarySize, StringDictionary.GARMENT_ATTRIBUTES.size());
+    }
+}
@@ -0,0 +1,26 @@
+package com.secondhand.marketplace.mapper;
+
+import com.secondhand.marketplace.dto.UserRegistrationDTO;
+import com.secondhand.marketplace.entity.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class UserMapperTest {
+
+    private final UserMapper userMapper = new UserMapper();
+
+    @Test
+    public void testToEntity_CopiesRegistrationFields() {
+        UserRegistrationDTO userDto = new UserRegistrationDTO("user", "password", "Full Name", "Address");
+
+        User user = userMapper.toEntity(userDto);
+
+        assertNull(user.getId());
+        assertEquals("user", user.getUsername());
+        assertEquals("password", user.getPassword());
+        assertEquals("Full Name", user.getFullName());
+        assertEquals("Address", user.getAddress());
+    }
+}
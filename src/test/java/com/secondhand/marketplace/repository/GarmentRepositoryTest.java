@@ -0,0 +1,187 @@
+package com.secondhand.marketplace.repository;
+
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class GarmentRepositoryTest {
+
+    private static final int PUBLISHERS = 5;
+    private static final int GARMENTS = 40;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GarmentRepository garmentRepository;
+
+    private Statistics statistics;
+    private List<Long> publisherIds;
+    private List<Long> garmentIds;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        List<User> publishers = new ArrayList<>();
+        publisherIds = new ArrayList<>();
+        for (int i = 0; i < PUBLISHERS; i++) {
+            publishers.add(entityManager.persist(new User("seller" + i, "password", "Seller " + i, "Address " + i)));
+            publisherIds.add(publishers.get(i).getId());
+        }
+
+        garmentIds = new ArrayList<>();
+        for (int i = 0; i < GARMENTS; i++) {
+            Garment garment = new Garment();
+            garment.setType(i % 2 == 0 ? "Shirt" : "Jacket");
+            garment.setDescription("Garment " + i);
+            garment.setSize("M");
+            garment.setPrice(10.0 + i);
+            garment.setPublisher(publishers.get(i % PUBLISHERS));
+            garmentIds.add(entityManager.persist(garment).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    public void testFindPageAfter_ReadsPageInOneStatement() {
+        List<GarmentDto> page = garmentRepository.findPageAfter(0L, PageRequest.ofSize(20));
+
+        assertEquals(20, page.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        page.forEach(garmentDto -> assertNotNull(garmentDto.getPublisherId()));
+    }
+
+    @Test
+    public void testFindPageAfter_StatementCountDoesNotDependOnPageSize() {
+        garmentRepository.findPageAfter(0L, PageRequest.ofSize(5));
+        long smallPage = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        garmentRepository.findPageAfter(0L, PageRequest.ofSize(GARMENTS));
+        long fullPage = statistics.getPrepareStatementCount();
+
+        assertEquals(1, smallPage);
+        assertEquals(smallPage, fullPage);
+    }
+
+    @Test
+    public void testFindPageByTypeAfter_SeeksPastCursor() {
+        Long cursor = garmentIds.get(9);
+
+        List<GarmentDto> page = garmentRepository.findPageByTypeAfter("Shirt", cursor, PageRequest.ofSize(100));
+
+        assertEquals(15, page.size());
+        page.forEach(garmentDto -> {
+            assertEquals("Shirt", garmentDto.getType());
+            assertTrue(garmentDto.getId() > cursor);
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testFindById_DoesNotLoadPublisher() {
+        Garment garment = garmentRepository.findById(garmentIds.get(0)).orElseThrow();
+        GarmentDto garmentDto = new GarmentMapper().toDto(garment);
+
+        assertNotNull(garmentDto.getPublisherId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDeleteByIdAndPublisherId_OwnerDeletesInOneStatement() {
+        Long garmentId = garmentIds.get(0);
+
+        int deleted = garmentRepository.deleteByIdAndPublisherId(garmentId, publisherIds.get(0));
+
+        assertEquals(1, deleted);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(garmentRepository.existsById(garmentId));
+    }
+
+    @Test
+    public void testDeleteByIdAndPublisherId_OtherPublisherDeletesNothing() {
+        Long garmentId = garmentIds.get(0);
+
+        int deleted = garmentRepository.deleteByIdAndPublisherId(garmentId, publisherIds.get(1));
+
+        assertEquals(0, deleted);
+        assertTrue(garmentRepository.existsById(garmentId));
+    }
+
+    @Test
+    public void testFindOwnedIds_KeepsOnlyThePublishersGarments() {
+        List<Long> ids = garmentRepository.findOwnedIds(garmentIds.subList(0, 10), publisherIds.get(0));
+
+        assertEquals(List.of(garmentIds.get(0), garmentIds.get(5)), ids.stream().sorted().toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testFindIdsByPublisherAfter_WalksPublisherInBatches() {
+        List<Long> walked = new ArrayList<>();
+        long afterId = 0L;
+        List<Long> batch;
+        while (!(batch = garmentRepository.findIdsByPublisherAfter(publisherIds.get(0), afterId, PageRequest.ofSize(3))).isEmpty()) {
+            assertTrue(batch.size() <= 3);
+            walked.addAll(batch);
+            afterId = batch.get(batch.size() - 1);
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < GARMENTS; i += PUBLISHERS) {
+            expected.add(garmentIds.get(i));
+        }
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    public void testFindAll_WithSpecification_FiltersAndSortsByPrice() {
+        Specification<Garment> specification = Specification.where(GarmentSpecifications.typeIn(List.of("Shirt")))
+                .and(GarmentSpecifications.sizeIn(List.of("M")))
+                .and(GarmentSpecifications.priceBetween(40.0, null));
+
+        Page<Garment> page = garmentRepository.findAll(specification,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "price")));
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getNumberOfElements());
+        assertEquals(48.0, page.getContent().get(0).getPrice());
+        assertEquals(46.0, page.getContent().get(1).getPrice());
+    }
+
+    @Test
+    public void testCountByFacet_GroupsMatchingGarments() {
+        Map<String, Long> typeCounts = garmentRepository.countByFacet(GarmentSpecifications.TYPE,
+                GarmentSpecifications.priceBetween(null, 22.0));
+        Map<String, Long> sizeCounts = garmentRepository.countByFacet(GarmentSpecifications.SIZE,
+                GarmentSpecifications.typeIn(List.of("Jacket")));
+
+        assertEquals(Map.of("Shirt", 7L, "Jacket", 6L), typeCounts);
+        assertEquals(Map.of("M", 20L), sizeCounts);
+        assertEquals("Shirt", typeCounts.keySet().iterator().next());
+    }
+}
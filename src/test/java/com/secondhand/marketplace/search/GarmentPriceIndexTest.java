@@ -0,0 +1,86 @@
+package com.secondhand.marketplace.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GarmentPriceIndexTest {
+
+    private GarmentPriceIndex priceIndex;
+
+    @BeforeEach
+    public void setUp() {
+        priceIndex = new GarmentPriceIndex();
+        priceIndex.index(1L, "Shirt", 25.0);
+        priceIndex.index(2L, "Shirt", 10.0);
+        priceIndex.index(3L, "Shirt", 40.0);
+        priceIndex.index(4L, "Shirt", 10.0);
+        priceIndex.index(5L, "Jacket", 15.0);
+    }
+
+    @Test
+    public void testFindCheapest_WholeType_CheapestFirstThenById() {
+        assertEquals(List.of(2L, 4L, 1L, 3L), priceIndex.findCheapest("Shirt", 0, Double.POSITIVE_INFINITY, 10));
+    }
+
+    @Test
+    public void testFindCheapest_RangeIsInclusive() {
+        assertEquals(List.of(2L, 4L, 1L), priceIndex.findCheapest("Shirt", 10.0, 25.0, 10));
+    }
+
+    @Test
+    public void testFindCheapest_StopsAtLimit() {
+        assertEquals(List.of(2L, 4L), priceIndex.findCheapest("Shirt", 0, Double.POSITIVE_INFINITY, 2));
+    }
+
+    @Test
+    public void testFindCheapest_UnknownTypeOrEmptyRange() {
+        assertTrue(priceIndex.findCheapest("Coat", 0, 100, 10).isEmpty());
+        assertTrue(priceIndex.findCheapest("Shirt", 26, 39, 10).isEmpty());
+        assertTrue(priceIndex.findCheapest("Shirt", 50, 10, 10).isEmpty());
+    }
+
+    @Test
+    public void testIndex_ExistingId_MovesGarment() {
+        priceIndex.index(2L, "Jacket", 50.0);
+
+        assertEquals(List.of(4L, 1L, 3L), priceIndex.findCheapest("Shirt", 0, 100, 10));
+        assertEquals(List.of(5L, 2L), priceIndex.findCheapest("Jacket", 0, 100, 10));
+        assertEquals(5, priceIndex.size());
+    }
+
+    @Test
+    public void testUpdate_PriceOnly_KeepsType() {
+        priceIndex.update(3L, null, 5.0);
+
+        assertEquals(List.of(3L, 2L, 4L, 1L), priceIndex.findCheapest("Shirt", 0, 100, 10));
+    }
+
+    @Test
+    public void testUpdate_TypeOnly_KeepsPrice() {
+        priceIndex.update(1L, "Jacket", null);
+
+        assertEquals(List.of(5L, 1L), priceIndex.findCheapest("Jacket", 0, 100, 10));
+    }
+
+    @Test
+    public void testUpdate_UnknownId_Ignored() {
+        priceIndex.update(99L, "Shirt", 1.0);
+
+        assertEquals(5, priceIndex.size());
+        assertFalse(priceIndex.findCheapest("Shirt", 0, 100, 10).contains(99L));
+    }
+
+    @Test
+    public void testRemove() {
+        priceIndex.remove(5L);
+        priceIndex.remove(2L);
+
+        assertTrue(priceIndex.findCheapest("Jacket", 0, 100, 10).isEmpty());
+        assertEquals(List.of(4L, 1L, 3L), priceIndex.findCheapest("Shirt", 0, 100, 10));
+        assertEquals(3, priceIndex.size());
+    }
+}
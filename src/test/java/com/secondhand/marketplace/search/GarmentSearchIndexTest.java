@@ -0,0 +1,87 @@
+package com.secondhand.marketplace.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GarmentSearchIndexTest {
+
+    private GarmentSearchIndex searchIndex;
+
+    @BeforeEach
+    public void setUp() {
+        searchIndex = new GarmentSearchIndex();
+        searchIndex.index(1L, "Shirt", "Blue denim shirt, barely worn");
+        searchIndex.index(2L, "Jeans", "Classic blue jeans");
+        searchIndex.index(3L, "Jacket", "Denim jacket with wool lining");
+        searchIndex.index(4L, "Denim", "Vintage overalls");
+    }
+
+    @Test
+    public void testSearch_TypeMatchRanksAboveDescriptionMatch() {
+        List<Long> results = searchIndex.search("denim", 10);
+
+        assertEquals(List.of(4L, 1L, 3L), results);
+    }
+
+    @Test
+    public void testSearch_MatchingMoreTermsRanksHigher() {
+        List<Long> results = searchIndex.search("denim WOOL", 10);
+
+        assertEquals(3L, results.get(0));
+    }
+
+    @Test
+    public void testSearch_RespectsLimit() {
+        assertEquals(2, searchIndex.search("denim", 2).size());
+    }
+
+    @Test
+    public void testSearch_UnknownOrBlankQuery_ReturnsNothing() {
+        assertTrue(searchIndex.search("leather", 10).isEmpty());
+        assertTrue(searchIndex.search("  ", 10).isEmpty());
+        assertTrue(searchIndex.search(null, 10).isEmpty());
+    }
+
+    @Test
+    public void testIndex_ReplacesPreviousTerms() {
+        searchIndex.index(2L, "Jeans", "Black corduroy trousers");
+
+        assertFalse(searchIndex.search("blue", 10).contains(2L));
+        assertEquals(List.of(2L), searchIndex.search("corduroy", 10));
+        assertEquals(4, searchIndex.size());
+    }
+
+    @Test
+    public void testUpdate_KeepsFieldsThatAreNotGiven() {
+        searchIndex.update(2L, null, "Black corduroy trousers");
+
+        assertEquals(List.of(2L), searchIndex.search("jeans", 10));
+        assertEquals(List.of(2L), searchIndex.search("corduroy", 10));
+        assertFalse(searchIndex.search("classic", 10).contains(2L));
+    }
+
+    @Test
+    public void testUpdate_UnknownGarment_IsIgnored() {
+        searchIndex.update(99L, "Coat", null);
+
+        assertTrue(searchIndex.search("coat", 10).isEmpty());
+        assertEquals(4, searchIndex.size());
+    }
+
+    @Test
+    public void testRemove_DropsGarmentFromResults() {
+        searchIndex.remove(4L);
+
+        assertEquals(List.of(1L, 3L), searchIndex.search("denim", 10));
+        assertEquals(3, searchIndex.size());
+    }
+
+    @Test
+    public void testTokenize_LowercasesAndSkipsShortTokens() {
+        assertEquals(List.of("xl", "shirt", "größe"), GarmentSearchIndex.tokenize("XL T-Shirt, Größe"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.secondhand.marketplace.service;
+
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import com.secondhand.marketplace.model.GarmentPatch;
+import com.secondhand.marketplace.repository.GarmentRepository;
+import com.secondhand.marketplace.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.secondhand.marketplace.service.ConcurrentTasks.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many writers editing the same garment at once: every successful write must be counted in the version,
+ * and writers holding a stale version must be rejected rather than overwrite.
+ */
+@SpringBootTest
+public class GarmentConcurrentUpdateTest {
+
+    private static final int WRITERS = 8;
+    private static final int UPDATES_PER_WRITER = 25;
+
+    @Autowired
+    private GarmentService garmentService;
+
+    @Autowired
+    private GarmentRepository garmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User publisher;
+    private AuthenticatedUser principal;
+    private Long garmentId;
+
+    @BeforeEach
+    public void setUp() {
+        publisher = userRepository.save(new User("writer-" + UUID.randomUUID(), "password", "Writer", "Address"));
+        principal = new AuthenticatedUser(publisher.getId(), publisher.getUsername());
+        garmentId = garmentRepository.save(new Garment(null, "Shirt", "Plain shirt", "M", 10.0, publisher, null)).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        garmentRepository.deleteById(garmentId);
+        userRepository.deleteById(publisher.getId());
+    }
+
+    @Test
+    public void testPatchGarment_ConcurrentWriters_NoLostUpdates() throws Exception {
+        AtomicInteger successes = new AtomicInteger();
+
+        runConcurrently(WRITERS, writer -> {
+            int done = 0;
+            while (done < UPDATES_PER_WRITER) {
+                long version = garmentRepository.findById(garmentId).orElseThrow().getVersion();
+                try {
+                    garmentService.patchGarment(garmentId, new GarmentPatch(null, "Edited by writer " + writer, null, null, version), principal);
+                    done++;
+                    successes.incrementAndGet();
+                } catch (ConcurrencyFailureException e) {
+                    // Lost the race: reload the version and retry
+                }
+            }
+        });
+
+        Garment garment = garmentRepository.findById(garmentId).orElseThrow();
+        assertEquals(WRITERS * UPDATES_PER_WRITER, successes.get());
+        // Every attempt either committed exactly one version bump or was rejected
+        assertEquals((long) WRITERS * UPDATES_PER_WRITER, garment.getVersion());
+    }
+
+    @Test
+    public void testUpdateGarment_SameVersionFromManyWriters_OnlyOneWins() throws Exception {
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(WRITERS, writer -> {
+            try {
+                garmentService.updateGarment(garmentId, new Garment(null, "Shirt", "Edited by writer " + writer, "M", 12.0, null, 0L), principal);
+                successes.incrementAndGet();
+            } catch (ConcurrencyFailureException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, successes.get());
+        assertEquals(WRITERS - 1, conflicts.get());
+        assertEquals(1L, garmentRepository.findById(garmentId).orElseThrow().getVersion());
+    }
+}
@@ -0,0 +1,116 @@
+package com.secondhand.marketplace.service;
+
+import com.secondhand.marketplace.config.CacheConfig;
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import com.secondhand.marketplace.repository.GarmentRepository;
+import com.secondhand.marketplace.repository.UserRepository;
+import com.secondhand.marketplace.search.GarmentPriceIndex;
+import com.secondhand.marketplace.search.GarmentSearchIndex;
+import com.secondhand.marketplace.service.GarmentDetailCache.CachedGarment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, JacksonAutoConfiguration.class, GarmentMapper.class,
+        GarmentService.class, GarmentDetailCache.class})
+public class GarmentDetailCacheTest {
+
+    @Autowired
+    private GarmentDetailCache garmentDetailCache;
+
+    @Autowired
+    private GarmentService garmentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private GarmentRepository garmentRepository;
+
+    @MockBean
+    private GarmentSearchIndex garmentSearchIndex;
+
+    @MockBean
+    private GarmentPriceIndex garmentPriceIndex;
+
+    @MockBean
+    private GarmentBatchWriter garmentBatchWriter;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    private User publisher;
+    private Garment garment;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.GARMENT_DETAILS).clear();
+
+        publisher = new User();
+        publisher.setId(7L);
+        garment = new Garment(1L, "Shirt", "Nice shirt", "M", 25.0, publisher, 0L);
+        when(garmentRepository.findById(1L)).thenReturn(Optional.of(garment));
+        when(garmentRepository.save(any(Garment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    public void testGet_SecondCall_ServedFromCache() throws Exception {
+        CachedGarment first = garmentDetailCache.get(1L);
+        CachedGarment second = garmentDetailCache.get(1L);
+
+        assertSame(first, second);
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"type\":\"Shirt\""));
+        verify(garmentRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void testUpdateGarment_EvictsEntryAndChangesETag() throws Exception {
+        CachedGarment before = garmentDetailCache.get(1L);
+
+        garmentService.updateGarment(1L, new Garment(null, "Jacket", "Warm", "L", 40.0, null, null), new AuthenticatedUser(7L, "seller"));
+        CachedGarment after = garmentDetailCache.get(1L);
+
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(new String(after.json(), StandardCharsets.UTF_8).contains("\"type\":\"Jacket\""));
+        verify(garmentRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    public void testUnpublishGarment_EvictsEntry() throws Exception {
+        when(garmentRepository.deleteByIdAndPublisherId(1L, 7L)).thenReturn(1);
+        garmentDetailCache.get(1L);
+
+        garmentService.unpublishGarment(1L, new AuthenticatedUser(7L, "seller"));
+
+        assertNull(cacheManager.getCache(CacheConfig.GARMENT_DETAILS).get(1L));
+    }
+
+    @Test
+    public void testBulkUnpublish_EvictsOnlyDeletedEntries() throws Exception {
+        Garment other = new Garment(2L, "Jacket", "Warm", "L", 40.0, publisher, 0L);
+        when(garmentRepository.findById(2L)).thenReturn(Optional.of(other));
+        when(garmentBatchWriter.deleteOwnedChunk(List.of(1L), 7L)).thenReturn(List.of(1L));
+        garmentDetailCache.get(1L);
+        garmentDetailCache.get(2L);
+
+        garmentService.bulkUnpublish(List.of(1L), new AuthenticatedUser(7L, "seller"));
+
+        assertNull(cacheManager.getCache(CacheConfig.GARMENT_DETAILS).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.GARMENT_DETAILS).get(2L));
+    }
+}
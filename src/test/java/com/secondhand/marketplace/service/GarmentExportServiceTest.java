@@ -0,0 +1,74 @@
+package com.secondhand.marketplace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.secondhand.marketplace.dto.GarmentDto;
+import com.secondhand.marketplace.entity.Garment;
+import com.secondhand.marketplace.mapper.GarmentMapper;
+import com.secondhand.marketplace.repository.GarmentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GarmentExportServiceTest {
+
+    @Mock
+    private GarmentRepository garmentRepository;
+
+    @Mock
+    private GarmentMapper garmentMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private GarmentExportService garmentExportService;
+
+    @BeforeEach
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().disable(SerializationFeature.INDENT_OUTPUT);
+        garmentExportService = new GarmentExportService(garmentRepository, garmentMapper, entityManager, objectMapper);
+    }
+
+    @Test
+    public void testExportGarments_WritesOneLinePerGarment() throws IOException {
+        Garment shirt = new Garment();
+        Garment jacket = new Garment();
+
+        when(garmentRepository.streamAll()).thenReturn(Stream.of(shirt, jacket));
+        when(garmentMapper.toDto(shirt)).thenReturn(new GarmentDto(1L, "Shirt", "Nice shirt", "M", 25.0, 7L, 0L));
+        when(garmentMapper.toDto(jacket)).thenReturn(new GarmentDto(2L, "Jacket", "Warm", "L", 60.0, 7L, 0L));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = garmentExportService.exportGarments(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"type\":\"Shirt\",\"description\":\"Nice shirt\",\"size\":\"M\",\"price\":25.0,\"publisherId\":7,\"version\":0}", lines[0]);
+        assertEquals("Jacket", new ObjectMapper().readTree(lines[1]).get("type").asText());
+    }
+
+    @Test
+    public void testExportGarments_EmptyCatalog() throws IOException {
+        when(garmentRepository.streamAll()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = garmentExportService.exportGarments(out);
+
+        assertEquals(0, count);
+        assertEquals(0, out.size());
+        verifyNoInteractions(entityManager);
+    }
+}
@@ -1,20 +1,44 @@
 package com.secondhand.marketplace.service;
 
+import com.secondhand.marketplace.config.CacheConfig;
+import com.secondhand.marketplace.dto.BulkPublishResultDto;
+import com.secondhand.marketplace.dto.GarmentDto;
 import com.secondhand.marketplace.entity.Garment;
 import com.secondhand.marketplace.entity.User;
 import com.secondhand.marketplace.exceptions.GarmentNotFoundException;
 import com.secondhand.marketplace.exceptions.UnauthorizedActionException;
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import com.secondhand.marketplace.model.GarmentFacets;
+import com.secondhand.marketplace.model.GarmentFilter;
+import com.secondhand.marketplace.model.GarmentPatch;
+import com.secondhand.marketplace.model.GarmentSort;
 import com.secondhand.marketplace.repository.GarmentRepository;
+import com.secondhand.marketplace.repository.UserRepository;
+import com.secondhand.marketplace.search.GarmentPriceIndex;
+import com.secondhand.marketplace.search.GarmentSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.List;
 import java.util.Collections;
+import java.util.Arrays;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,14 +52,34 @@ public class GarmentServiceTest {
     @Mock
     private GarmentRepository garmentRepository;
 
+    @Mock
+    private GarmentSearchIndex searchIndex;
+
+    @Mock
+    private GarmentPriceIndex priceIndex;
+
+    @Mock
+    private GarmentBatchWriter batchWriter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache garmentDetailsCache;
+
     private Garment garment;
     private User user;
+    private AuthenticatedUser principal;
 
     @BeforeEach
     public void setUp() {
         user = new User();
         user.setId(1L);
         user.setUsername("testUser");
+        principal = new AuthenticatedUser(1L, "testUser");
 
         garment = new Garment();
         garment.setId(1L);
@@ -44,24 +88,144 @@ public class GarmentServiceTest {
     }
 
     @Test
-    public void testGetAllGarments_WithType() {
-        when(garmentRepository.findByType("Shirt")).thenReturn(Collections.singletonList(garment));
+    public void testGetGarmentPage_WithoutCursor_StartsFromBeginning() {
+        GarmentDto garmentDto = new GarmentDto(1L, "Shirt", null, null, 0, 1L, 0L);
+        when(garmentRepository.findPageAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(garmentDto));
+
+        Slice<GarmentDto> page = garmentService.getGarmentPage(null, null, 20);
+
+        assertEquals(1, page.getNumberOfElements());
+        assertFalse(page.hasNext());
+        verify(garmentRepository, times(1)).findPageAfter(eq(0L), argThat(p -> p.getPageSize() == 21));
+    }
+
+    @Test
+    public void testGetGarmentPage_WithTypeAndExtraRow_HasNext() {
+        GarmentDto first = new GarmentDto(1L, "Shirt", null, null, 0, 1L, 0L);
+        GarmentDto next = new GarmentDto(2L, "Shirt", null, null, 0, 1L, 0L);
+        when(garmentRepository.findPageByTypeAfter(eq("Shirt"), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, next));
 
-        List<Garment> garments = garmentService.getAllGarments("Shirt");
+        Slice<GarmentDto> page = garmentService.getGarmentPage("Shirt", 0L, 1);
 
-        assertEquals(1, garments.size());
-        assertEquals("Shirt", garments.get(0).getType());
-        verify(garmentRepository, times(1)).findByType("Shirt");
+        assertEquals(1, page.getNumberOfElements());
+        assertEquals(1L, page.getContent().get(0).getId());
+        assertTrue(page.hasNext());
     }
 
     @Test
-    public void testGetAllGarments_WithoutType() {
-        when(garmentRepository.findAll()).thenReturn(Collections.singletonList(garment));
+    public void testGetGarmentPage_SizeIsCapped() {
+        when(garmentRepository.findPageAfter(eq(5L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
-        List<Garment> garments = garmentService.getAllGarments(null);
+        garmentService.getGarmentPage(null, 5L, 10_000);
 
-        assertEquals(1, garments.size());
-        verify(garmentRepository, times(1)).findAll();
+        verify(garmentRepository).findPageAfter(eq(5L),
+                argThat(p -> p.getPageSize() == GarmentService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    public void testFilterGarments_UsesSortAndCappedPageSize() {
+        GarmentFilter filter = new GarmentFilter(List.of("Shirt"), List.of("M", "L"), 10.0, 50.0, GarmentSort.PRICE_ASC);
+        when(garmentRepository.findAll(Mockito.<Specification<Garment>>any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(garment)));
+
+        Page<Garment> page = garmentService.filterGarments(filter, 2, 500);
+
+        assertEquals(1, page.getNumberOfElements());
+        verify(garmentRepository).findAll(Mockito.<Specification<Garment>>any(), argThat((Pageable p) ->
+                p.getPageNumber() == 2
+                        && p.getPageSize() == GarmentService.MAX_PAGE_SIZE
+                        && p.getSort().equals(GarmentSort.PRICE_ASC.toSort())));
+    }
+
+    @Test
+    public void testFilterGarments_InvalidPriceRange() {
+        GarmentFilter filter = new GarmentFilter(null, null, 50.0, 10.0, GarmentSort.NEWEST);
+
+        assertThrows(IllegalArgumentException.class, () -> garmentService.filterGarments(filter, 0, 20));
+        verifyNoInteractions(garmentRepository);
+    }
+
+    @Test
+    public void testCountFacets_CountsTypesAndSizes() {
+        GarmentFilter filter = new GarmentFilter(List.of("Shirt"), null, null, 30.0, GarmentSort.NEWEST);
+        when(garmentRepository.countByFacet(eq("type"), any())).thenReturn(Map.of("Shirt", 3L, "Jacket", 1L));
+        when(garmentRepository.countByFacet(eq("size"), any())).thenReturn(Map.of("M", 3L));
+
+        GarmentFacets facets = garmentService.countFacets(filter);
+
+        assertEquals(3L, facets.getTypes().get("Shirt"));
+        assertEquals(1L, facets.getTypes().get("Jacket"));
+        assertEquals(3L, facets.getSizes().get("M"));
+    }
+
+    @Test
+    public void testSearchGarments_KeepsRankingOrder() {
+        GarmentDto first = new GarmentDto(3L, "Jacket", "Denim jacket", "L", 40.0, 1L, 0L);
+        GarmentDto second = new GarmentDto(1L, "Shirt", "Denim shirt", "M", 20.0, 1L, 0L);
+        when(searchIndex.search("denim", 20)).thenReturn(Arrays.asList(3L, 2L, 1L));
+        when(garmentRepository.findDtosByIdIn(Arrays.asList(3L, 2L, 1L))).thenReturn(Arrays.asList(second, first));
+
+        List<GarmentDto> results = garmentService.searchGarments("denim", 20);
+
+        assertEquals(2, results.size());
+        assertEquals(3L, results.get(0).getId());
+        assertEquals(1L, results.get(1).getId());
+    }
+
+    @Test
+    public void testGetCheapestGarments_ReturnsGarmentsInPriceOrder() {
+        when(priceIndex.findCheapest("Shirt", 10.0, 30.0, 20)).thenReturn(Arrays.asList(7L, 3L));
+        when(garmentRepository.findDtosByIdIn(Arrays.asList(7L, 3L))).thenReturn(Arrays.asList(
+                new GarmentDto(3L, "Shirt", "Linen shirt", "L", 25.0, 1L, 0L),
+                new GarmentDto(7L, "Shirt", "Cotton shirt", "M", 12.0, 1L, 0L)));
+
+        List<GarmentDto> results = garmentService.getCheapestGarments("Shirt", 10.0, 30.0, 20);
+
+        assertEquals(2, results.size());
+        assertEquals(7L, results.get(0).getId());
+        assertEquals(3L, results.get(1).getId());
+    }
+
+    @Test
+    public void testGetCheapestGarments_OpenRange_CapsSize() {
+        when(priceIndex.findCheapest("Shirt", 0.0, Double.POSITIVE_INFINITY, GarmentService.MAX_PAGE_SIZE))
+                .thenReturn(Collections.emptyList());
+
+        assertTrue(garmentService.getCheapestGarments("Shirt", null, null, 10_000).isEmpty());
+        verifyNoInteractions(garmentRepository);
+    }
+
+    @Test
+    public void testGetCheapestGarments_MinAboveMax_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> garmentService.getCheapestGarments("Shirt", 50.0, 10.0, 20));
+        verifyNoInteractions(priceIndex);
+    }
+
+    @Test
+    public void testSearchGarments_NoMatches_SkipsDatabase() {
+        when(searchIndex.search("nothing", 20)).thenReturn(Collections.emptyList());
+
+        assertTrue(garmentService.searchGarments("nothing", 20).isEmpty());
+        verifyNoInteractions(garmentRepository);
+    }
+
+    @Test
+    public void testRebuildIndexes_IndexesEveryGarment() {
+        when(garmentRepository.streamAllDtos()).thenReturn(java.util.stream.Stream.of(
+                new GarmentDto(1L, "Shirt", "Denim shirt", "M", 20.0, 1L, 0L),
+                new GarmentDto(2L, "Jacket", "Wool jacket", "L", 50.0, 1L, 0L)));
+
+        garmentService.rebuildIndexes();
+
+        verify(searchIndex).clear();
+        verify(searchIndex).index(1L, "Shirt", "Denim shirt");
+        verify(searchIndex).index(2L, "Jacket", "Wool jacket");
+        verify(priceIndex).clear();
+        verify(priceIndex).index(1L, "Shirt", 20.0);
+        verify(priceIndex).index(2L, "Jacket", 50.0);
     }
 
     @Test
@@ -84,12 +248,81 @@ public class GarmentServiceTest {
 
     @Test
     public void testPublishGarment() {
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(garmentRepository.save(garment)).thenReturn(garment);
 
-        Garment savedGarment = garmentService.publishGarment(garment);
+        Garment savedGarment = garmentService.publishGarment(garment, principal);
 
         assertEquals(garment.getId(), savedGarment.getId());
+        assertEquals(user, savedGarment.getPublisher());
+        verify(userRepository, never()).findById(any());
         verify(garmentRepository, times(1)).save(garment);
+        verify(searchIndex, times(1)).index(1L, "Shirt", null);
+    }
+
+    @Test
+    public void testBulkPublish_RejectsInvalidGarmentsAndSavesTheRest() {
+        Garment valid = new Garment(null, "Shirt", "Nice shirt", "M", 25.0, null, null);
+        Garment missingSize = new Garment(null, "Jacket", null, null, 40.0, null, null);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(batchWriter.saveChunk(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0), 100L));
+
+        List<BulkPublishResultDto> results = garmentService.bulkPublish(Arrays.asList(valid, missingSize, null), principal);
+
+        assertEquals(3, results.size());
+        assertEquals(BulkPublishResultDto.Status.CREATED, results.get(0).getStatus());
+        assertEquals(100L, results.get(0).getId());
+        assertEquals(user, valid.getPublisher());
+        assertEquals(BulkPublishResultDto.Status.REJECTED, results.get(1).getStatus());
+        assertEquals("Size is required", results.get(1).getError());
+        assertEquals(BulkPublishResultDto.Status.REJECTED, results.get(2).getStatus());
+        verify(batchWriter, times(1)).saveChunk(anyList());
+        verify(searchIndex, times(1)).index(100L, "Shirt", "Nice shirt");
+    }
+
+    @Test
+    public void testBulkPublish_SavesInChunks() {
+        List<Garment> garments = new ArrayList<>();
+        for (int i = 0; i < GarmentService.BULK_CHUNK_SIZE + 1; i++) {
+            garments.add(new Garment(null, "Shirt", null, "M", 10.0, null, null));
+        }
+        when(batchWriter.saveChunk(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0), 1L));
+
+        List<BulkPublishResultDto> results = garmentService.bulkPublish(garments, principal);
+
+        assertEquals(garments.size(), results.size());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BulkPublishResultDto.Status.CREATED));
+        verify(batchWriter, times(2)).saveChunk(anyList());
+    }
+
+    @Test
+    public void testBulkPublish_FailedChunk_ReportsEveryGarmentInIt() {
+        List<Garment> garments = List.of(new Garment(null, "Shirt", null, "M", 10.0, null, null),
+                new Garment(null, "Jacket", null, "L", 20.0, null, null));
+        when(batchWriter.saveChunk(anyList())).thenThrow(new DataIntegrityViolationException("boom"));
+
+        List<BulkPublishResultDto> results = garmentService.bulkPublish(garments, principal);
+
+        assertEquals(BulkPublishResultDto.Status.FAILED, results.get(0).getStatus());
+        assertEquals(BulkPublishResultDto.Status.FAILED, results.get(1).getStatus());
+        assertNull(results.get(1).getId());
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    public void testBulkPublish_TooManyGarments() {
+        List<Garment> garments = Collections.nCopies(GarmentService.MAX_BULK_SIZE + 1, garment);
+
+        assertThrows(IllegalArgumentException.class, () -> garmentService.bulkPublish(garments, principal));
+        verifyNoInteractions(batchWriter);
+    }
+
+    private static List<Garment> assignIds(List<Garment> garments, long firstId) {
+        List<Garment> savedGarments = new ArrayList<>(garments);
+        for (int i = 0; i < savedGarments.size(); i++) {
+            savedGarments.get(i).setId(firstId + i);
+        }
+        return savedGarments;
     }
 
     @Test
@@ -104,21 +337,20 @@ public class GarmentServiceTest {
         when(garmentRepository.findById(1L)).thenReturn(Optional.of(garment));
         when(garmentRepository.save(garment)).thenReturn(garment);
 
-        Garment result = garmentService.updateGarment(1L, updatedGarment, user);
+        Garment result = garmentService.updateGarment(1L, updatedGarment, principal);
 
         assertEquals("Updated Shirt", result.getType());
         verify(garmentRepository, times(1)).findById(1L);
         verify(garmentRepository, times(1)).save(garment);
+        verify(searchIndex, times(1)).index(1L, "Updated Shirt", "Updated description");
+        verify(priceIndex, times(1)).index(1L, "Updated Shirt", 30.0);
     }
 
     @Test
     public void testUpdateGarment_Unauthorized() {
-        User otherUser = new User();
-        otherUser.setId(2L);
-        otherUser.setUsername("otherUser");
+        AuthenticatedUser otherUser = new AuthenticatedUser(2L, "otherUser");
 
         Garment updatedGarment = new Garment();
-        updatedGarment.setPublisher(otherUser);
 
         when(garmentRepository.findById(1L)).thenReturn(Optional.of(garment));
 
@@ -127,31 +359,201 @@ public class GarmentServiceTest {
     }
 
     @Test
-    public void testUnpublishGarment_Success() throws GarmentNotFoundException {
+    public void testUpdateGarment_StaleVersion_Conflict() {
+        garment.setVersion(3L);
+        Garment updatedGarment = new Garment(null, "Jacket", null, "L", 40.0, null, 2L);
+
         when(garmentRepository.findById(1L)).thenReturn(Optional.of(garment));
 
-        garmentService.unpublishGarment(1L, user);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> garmentService.updateGarment(1L, updatedGarment, principal));
+        verify(garmentRepository, never()).save(any());
+        verifyNoInteractions(searchIndex);
+    }
 
-        verify(garmentRepository, times(1)).findById(1L);
-        verify(garmentRepository, times(1)).delete(garment);
+    @Test
+    public void testPatchGarment_Success_SingleStatement() throws GarmentNotFoundException {
+        GarmentPatch patch = new GarmentPatch(null, "Faded denim shirt", null, 19.0, 4L);
+
+        when(garmentRepository.patch(1L, 1L, 4L, null, "Faded denim shirt", null, 19.0)).thenReturn(1);
+
+        long version = garmentService.patchGarment(1L, patch, principal);
+
+        assertEquals(5L, version);
+        verify(garmentRepository, never()).findById(any());
+        verify(searchIndex, times(1)).update(1L, null, "Faded denim shirt");
+        verify(priceIndex, times(1)).update(1L, null, 19.0);
     }
 
     @Test
-    public void testUnpublishGarment_Unauthorized() {
-        User otherUser = new User();
-        otherUser.setId(2L);
+    public void testPatchGarment_PriceOnly_DoesNotTouchSearchIndex() throws GarmentNotFoundException {
+        when(garmentRepository.patch(1L, 1L, 0L, null, null, null, 12.0)).thenReturn(1);
+
+        garmentService.patchGarment(1L, new GarmentPatch(null, null, null, 12.0, 0L), principal);
+
+        verifyNoInteractions(searchIndex);
+        verify(priceIndex, times(1)).update(1L, null, 12.0);
+    }
+
+    @Test
+    public void testPatchGarment_StaleVersion_Conflict() {
+        when(garmentRepository.patch(1L, 1L, 4L, "Coat", null, null, null)).thenReturn(0);
+        when(garmentRepository.findById(1L)).thenReturn(Optional.of(garment));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> garmentService.patchGarment(1L, new GarmentPatch("Coat", null, null, null, 4L), principal));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    public void testPatchGarment_NotOwner_Unauthorized() {
+        AuthenticatedUser otherUser = new AuthenticatedUser(2L, "otherUser");
+
+        when(garmentRepository.patch(1L, 2L, 0L, "Coat", null, null, null)).thenReturn(0);
+        when(garmentRepository.findById(1L)).thenReturn(Optional.of(garment));
+
+        assertThrows(UnauthorizedActionException.class,
+                () -> garmentService.patchGarment(1L, new GarmentPatch("Coat", null, null, null, 0L), otherUser));
+    }
+
+    @Test
+    public void testPatchGarment_NotFound() {
+        when(garmentRepository.patch(9L, 1L, 0L, "Coat", null, null, null)).thenReturn(0);
+        when(garmentRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(GarmentNotFoundException.class,
+                () -> garmentService.patchGarment(9L, new GarmentPatch("Coat", null, null, null, 0L), principal));
+    }
+
+    @Test
+    public void testPatchGarment_MissingVersion() {
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentService.patchGarment(1L, new GarmentPatch("Coat", null, null, null, null), principal));
+        verifyNoInteractions(garmentRepository);
+    }
+
+    @Test
+    public void testGetCatalogVersion_BumpedByEveryWrite() throws GarmentNotFoundException {
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(garmentRepository.save(garment)).thenReturn(garment);
+        when(garmentRepository.patch(1L, 1L, 0L, null, null, null, 12.0)).thenReturn(1);
+        when(garmentRepository.deleteByIdAndPublisherId(1L, 1L)).thenReturn(1);
+        long initial = garmentService.getCatalogVersion();
+
+        garmentService.publishGarment(garment, principal);
+        garmentService.patchGarment(1L, new GarmentPatch(null, null, null, 12.0, 0L), principal);
+        garmentService.unpublishGarment(1L, principal);
+
+        assertEquals(initial + 3, garmentService.getCatalogVersion());
+    }
 
+    @Test
+    public void testGetCatalogVersion_UnchangedByRejectedWrites() {
+        when(garmentRepository.patch(1L, 1L, 4L, "Coat", null, null, null)).thenReturn(0);
         when(garmentRepository.findById(1L)).thenReturn(Optional.of(garment));
+        long initial = garmentService.getCatalogVersion();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> garmentService.patchGarment(1L, new GarmentPatch("Coat", null, null, null, 4L), principal));
+
+        assertEquals(initial, garmentService.getCatalogVersion());
+    }
+
+    @Test
+    public void testUnpublishGarment_Success() throws GarmentNotFoundException {
+        when(garmentRepository.deleteByIdAndPublisherId(1L, 1L)).thenReturn(1);
+
+        garmentService.unpublishGarment(1L, principal);
+
+        verify(garmentRepository, times(1)).deleteByIdAndPublisherId(1L, 1L);
+        verify(garmentRepository, never()).existsById(any());
+        verify(searchIndex, times(1)).remove(1L);
+        verify(priceIndex, times(1)).remove(1L);
+    }
+
+    @Test
+    public void testUnpublishGarment_Unauthorized() {
+        AuthenticatedUser otherUser = new AuthenticatedUser(2L, "otherUser");
+
+        when(garmentRepository.deleteByIdAndPublisherId(1L, 2L)).thenReturn(0);
+        when(garmentRepository.existsById(1L)).thenReturn(true);
 
         assertThrows(UnauthorizedActionException.class, () -> garmentService.unpublishGarment(1L, otherUser));
-        verify(garmentRepository, times(1)).findById(1L);
+        verifyNoInteractions(searchIndex);
     }
 
     @Test
     public void testUnpublishGarment_NotFound() {
-        when(garmentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(garmentRepository.deleteByIdAndPublisherId(1L, 1L)).thenReturn(0);
+        when(garmentRepository.existsById(1L)).thenReturn(false);
 
-        assertThrows(GarmentNotFoundException.class, () -> garmentService.unpublishGarment(1L, user));
-        verify(garmentRepository, times(1)).findById(1L);
+        assertThrows(GarmentNotFoundException.class, () -> garmentService.unpublishGarment(1L, principal));
+        verify(garmentRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    public void testBulkUnpublish_DeletesInBatches() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            ids.add(id);
+        }
+        when(batchWriter.deleteOwnedChunk(anyList(), eq(1L))).thenAnswer(invocation -> new ArrayList<>(invocation.<List<Long>>getArgument(0)));
+        when(cacheManager.getCache(CacheConfig.GARMENT_DETAILS)).thenReturn(garmentDetailsCache);
+
+        long removed = garmentService.bulkUnpublish(ids, principal);
+
+        assertEquals(2500, removed);
+        verify(batchWriter, times(3)).deleteOwnedChunk(anyList(), eq(1L));
+        verify(searchIndex, times(2500)).remove(anyLong());
+        verify(priceIndex, times(2500)).remove(anyLong());
+    }
+
+    @Test
+    public void testBulkUnpublish_SkipsGarmentsOfOtherUsers() {
+        when(batchWriter.deleteOwnedChunk(List.of(1L, 2L, 3L), 1L)).thenReturn(List.of(1L, 3L));
+        when(cacheManager.getCache(CacheConfig.GARMENT_DETAILS)).thenReturn(garmentDetailsCache);
+
+        long removed = garmentService.bulkUnpublish(Arrays.asList(1L, 2L, 2L, null, 3L), principal);
+
+        assertEquals(2, removed);
+        verify(searchIndex, times(1)).remove(1L);
+        verify(searchIndex, never()).remove(2L);
+        verify(searchIndex, times(1)).remove(3L);
+        verify(garmentDetailsCache, times(1)).evict(1L);
+        verify(garmentDetailsCache, never()).evict(2L);
+        verify(garmentDetailsCache, times(1)).evict(3L);
+        verify(garmentDetailsCache, never()).clear();
+    }
+
+    @Test
+    public void testBulkUnpublish_TooManyIds() {
+        List<Long> ids = Collections.nCopies(GarmentService.MAX_BULK_SIZE + 1, 1L);
+
+        assertThrows(IllegalArgumentException.class, () -> garmentService.bulkUnpublish(ids, principal));
+        verifyNoInteractions(batchWriter);
+    }
+
+    @Test
+    public void testUnpublishAll_WalksIdsByKeyset() {
+        when(garmentRepository.findIdsByPublisherAfter(eq(1L), eq(0L), any(Pageable.class))).thenReturn(List.of(4L, 9L));
+        when(garmentRepository.findIdsByPublisherAfter(eq(1L), eq(9L), any(Pageable.class))).thenReturn(List.of(12L));
+        when(garmentRepository.findIdsByPublisherAfter(eq(1L), eq(12L), any(Pageable.class))).thenReturn(List.of());
+        when(batchWriter.deleteOwnedChunk(anyList(), eq(1L))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cacheManager.getCache(CacheConfig.GARMENT_DETAILS)).thenReturn(garmentDetailsCache);
+
+        long removed = garmentService.unpublishAll(principal);
+
+        assertEquals(3, removed);
+        verify(batchWriter, times(1)).deleteOwnedChunk(List.of(4L, 9L), 1L);
+        verify(batchWriter, times(1)).deleteOwnedChunk(List.of(12L), 1L);
+        verify(searchIndex, times(3)).remove(anyLong());
+        verify(garmentDetailsCache, times(3)).evict(anyLong());
+    }
+
+    @Test
+    public void testUnpublishAll_NothingToRemove() {
+        when(garmentRepository.findIdsByPublisherAfter(eq(1L), eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, garmentService.unpublishAll(principal));
+        verifyNoInteractions(batchWriter);
     }
 }
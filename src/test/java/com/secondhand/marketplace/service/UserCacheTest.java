@@ -0,0 +1,80 @@
+package com.secondhand.marketplace.service;
+
+import com.secondhand.marketplace.config.CacheConfig;
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, CustomUserDetailsService.class, UserService.class})
+public class UserCacheTest {
+
+    // Injected by interface: @EnableCaching proxies the service with a JDK proxy in this context
+    @Autowired
+    private UserDetailsService customUserDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.USERS).clear();
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testUser");
+        user.setPassword("testPassword");
+    }
+
+    @Test
+    public void testLoadUserByUsername_SecondCallIsServedFromCache() {
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+
+        UserDetails first = customUserDetailsService.loadUserByUsername("testUser");
+        UserDetails second = customUserDetailsService.loadUserByUsername("testUser");
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUsername("testUser");
+    }
+
+    @Test
+    public void testRegisterUser_EvictsCachedUser() {
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        customUserDetailsService.loadUserByUsername("testUser");
+
+        when(passwordEncoder.encode(any())).thenReturn("encoded");
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+        userService.registerUser(user);
+
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        UserDetails reloaded = customUserDetailsService.loadUserByUsername("testUser");
+
+        assertEquals("testUser", reloaded.getUsername());
+        verify(userRepository, times(2)).findByUsername("testUser");
+    }
+}
@@ -0,0 +1,82 @@
+package com.secondhand.marketplace.service;
+
+import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.exceptions.UsernameAlreadyExistsException;
+import com.secondhand.marketplace.repository.UserRepository;
+import com.secondhand.marketplace.service.RegistrationCache.RegisteredUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.secondhand.marketplace.service.ConcurrentTasks.runConcurrently;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many clients registering the same username at once: exactly one row may be created, and with a shared
+ * Idempotency-Key every client must get that same registration back.
+ */
+@SpringBootTest
+public class UserConcurrentRegistrationTest {
+
+    private static final int CLIENTS = 16;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RegistrationCache registrationCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final String username = "signup-" + UUID.randomUUID();
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.findByUsername(username).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    public void testRegisterUser_SameUsernameFromManyClients_OnlyOneRowCreated() throws Exception {
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(CLIENTS, client -> {
+            try {
+                userService.registerUser(new User(username, "password", "Client " + client, "Address"));
+                successes.incrementAndGet();
+            } catch (UsernameAlreadyExistsException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, successes.get());
+        assertEquals(CLIENTS - 1, conflicts.get());
+        assertEquals(1, countUsers());
+    }
+
+    @Test
+    public void testRegister_SameIdempotencyKeyFromManyClients_AllGetTheSameUser() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(CLIENTS, client -> {
+            RegisteredUser registeredUser = registrationCache.register(idempotencyKey,
+                    new User(username, "password", "Client " + client, "Address"));
+            ids.add(registeredUser.id());
+        });
+
+        assertEquals(1, ids.size());
+        assertEquals(1, countUsers());
+    }
+
+    private long countUsers() {
+        return userRepository.findAll().stream().filter(user -> username.equals(user.getUsername())).count();
+    }
+}
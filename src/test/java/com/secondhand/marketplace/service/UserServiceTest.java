@@ -1,6 +1,7 @@
 package com.secondhand.marketplace.service;
 
 import com.secondhand.marketplace.entity.User;
+import com.secondhand.marketplace.exceptions.UsernameAlreadyExistsException;
 import com.secondhand.marketplace.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,9 +9,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,7 +42,7 @@ public class UserServiceTest {
     public void testRegisterUser_Success() {
         String encodedPassword = "encodedPassword";
         when(passwordEncoder.encode(user.getPassword())).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
             User savedUser = invocation.getArgument(0);
             savedUser.setId(1L);
             return savedUser;
@@ -50,19 +53,28 @@ public class UserServiceTest {
         assertEquals(1L, registeredUser.getId());
         assertEquals(encodedPassword, registeredUser.getPassword());
         verify(passwordEncoder, times(1)).encode("plainPassword");
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
     }
 
     @Test
     public void testRegisterUser_PasswordEncoding() {
         String encodedPassword = "encodedPassword";
         when(passwordEncoder.encode("plainPassword")).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         userService.registerUser(user);
 
         assertEquals(encodedPassword, user.getPassword());
         verify(passwordEncoder, times(1)).encode("plainPassword");
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
+    }
+
+    @Test
+    public void testRegisterUser_DuplicateUsername_Throws() {
+        when(passwordEncoder.encode("plainPassword")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("uk_user_app_username"));
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> userService.registerUser(user));
+        verify(userRepository, times(1)).saveAndFlush(user);
     }
 }
@@ -0,0 +1,47 @@
+package com.secondhand.marketplace.utils;
+
+import com.secondhand.marketplace.model.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    @Test
+    public void testParseClaims_ReturnsSubjectAndExpiry() {
+        long before = System.currentTimeMillis();
+        String token = jwtUtil.generateToken(5L, "testUser");
+
+        Claims claims = jwtUtil.parseClaims(token);
+
+        assertEquals("testUser", claims.getSubject());
+        assertTrue(claims.getExpiration().getTime() >= before + jwtUtil.getExpirationTime() - 1000);
+    }
+
+    @Test
+    public void testParseClaims_TokenFromOtherKey_Throws() {
+        String foreignToken = new JwtUtil().generateToken(5L, "testUser");
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseClaims(foreignToken));
+    }
+
+    @Test
+    public void testToPrincipal_ReadsUserIdAndUsername() {
+        String token = jwtUtil.generateToken(5L, "testUser");
+
+        AuthenticatedUser principal = jwtUtil.toPrincipal(jwtUtil.parseClaims(token));
+
+        assertEquals(new AuthenticatedUser(5L, "testUser"), principal);
+    }
+
+    @Test
+    public void testToPrincipal_NoUserId_Throws() {
+        String token = jwtUtil.generateToken(null, "testUser");
+
+        assertThrows(IllegalArgumentException.class, () -> jwtUtil.toPrincipal(jwtUtil.parseClaims(token)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.secondhand.marketplace.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringDictionaryTest {
+
+    private final StringDictionary dictionary = new StringDictionary(2);
+
+    @Test
+    public void testCanonical_ReturnsSameInstanceForEqualValues() {
+        String first = dictionary.canonical(new String("Shirt"));
+        String second = dictionary.canonical(new String("Shirt"));
+
+        assertSame(first, second);
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    public void testCanonical_Null() {
+        assertNull(dictionary.canonical(null));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    public void testCanonical_FullDictionaryReturnsValueUnchanged() {
+        dictionary.canonical("Shirt");
+        dictionary.canonical("Jeans");
+        String coat = new String("Coat");
+
+        assertSame(coat, dictionary.canonical(coat));
+        assertEquals(2, dictionary.size());
+        // Values already held are still canonicalized
+        assertSame(dictionary.canonical("Shirt"), dictionary.canonical(new String("Shirt")));
+    }
+}
@@ -0,0 +1,99 @@
+package com.secondhand.marketplace.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final TokenBucketRateLimiter limiter =
+            new TokenBucketRateLimiter(5, Duration.ofMinutes(1), 1000, Duration.ofMinutes(10), clock::get);
+
+    @Test
+    public void testTryAcquire_AllowsBurstThenRejects() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("alice"));
+        }
+
+        long waitNanos = limiter.tryAcquire("alice");
+
+        assertTrue(waitNanos > 0);
+        assertEquals(TimeUnit.SECONDS.toNanos(12), waitNanos);
+    }
+
+    @Test
+    public void testTryAcquire_RefillsOverTime() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(12));
+
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    public void testTryAcquire_RejectedAttemptsDoNotExtendTheWait() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("alice");
+        }
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(12));
+
+        assertEquals(0, limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    public void testTryAcquire_KeysAreIndependent() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        assertTrue(limiter.tryAcquire("alice") > 0);
+        assertEquals(0, limiter.tryAcquire("bob"));
+    }
+
+    @Test
+    public void testTrackedKeys_IdleKeysAreEvicted() {
+        limiter.tryAcquire("alice");
+        limiter.tryAcquire("bob");
+        assertEquals(2, limiter.trackedKeys());
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(11));
+
+        assertEquals(0, limiter.trackedKeys());
+    }
+
+    @Test
+    public void testTryAcquire_ConcurrentCallers_NeverExceedCapacity() throws Exception {
+        TokenBucketRateLimiter slowLimiter = new TokenBucketRateLimiter(50, Duration.ofHours(1), 1000, Duration.ofMinutes(10));
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> {
+                    if (slowLimiter.tryAcquire("alice") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(50, allowed.get());
+    }
+}